@@ -0,0 +1,76 @@
+package org.example.benchmarks;
+
+import org.example.algorithm.GapSequence;
+import org.example.algorithm.ShellSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorted order of a key column: packed argsort against boxed indices sorted
+ * by a key comparator, with a plain sort of the keys as the floor.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ArgsortBenchmark {
+    
+    @Param({"10000", "1000000"})
+    public int size;
+    
+    private int[] keys;
+    private int[] indices;
+    
+    @Setup
+    public void setUp() {
+        keys = Distribution.RANDOM.generate(size, 42);
+        indices = new int[size];
+    }
+    
+    @Benchmark
+    public int[] argsort() {
+        return ShellSort.argsort(keys);
+    }
+    
+    @Benchmark
+    public int[] argsortIntoBuffer() {
+        ShellSort.argsort(keys, 0, size, indices);
+        return indices;
+    }
+    
+    @Benchmark
+    public int[] parallelArgsort() {
+        return ShellSort.parallelArgsort(keys);
+    }
+    
+    @Benchmark
+    public Integer[] boxedIndexSort() {
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            boxed[i] = i;
+        }
+        ShellSort.sort(boxed, Comparator.comparingInt(i -> keys[i]), GapSequence.CIURA);
+        return boxed;
+    }
+    
+    @Benchmark
+    public int[] sortKeys() {
+        int[] arr = keys.clone();
+        ShellSort.sort(arr, GapSequence.CIURA);
+        return arr;
+    }
+}
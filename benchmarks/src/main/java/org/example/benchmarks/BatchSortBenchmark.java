@@ -0,0 +1,57 @@
+package org.example.benchmarks;
+
+import org.example.algorithm.ShellSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One million elements cut into short segments: the batch API against a
+ * Knuth sort per segment.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BatchSortBenchmark {
+    
+    private static final int ELEMENTS = 1 << 20;
+    
+    @Param({"4", "8", "16", "32", "64"})
+    public int stride;
+    
+    private int[] data;
+    
+    @Setup
+    public void setUp() {
+        data = Distribution.RANDOM.generate(ELEMENTS, 42);
+    }
+    
+    @Benchmark
+    public int[] sortSegments() {
+        int[] arr = data.clone();
+        ShellSort.sortSegments(arr, stride);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] knuthPerSegment() {
+        int[] arr = data.clone();
+        for (int from = 0; from < arr.length; from += stride) {
+            ShellSort.shellSortKnuth(arr, from, from + stride);
+        }
+        return arr;
+    }
+}
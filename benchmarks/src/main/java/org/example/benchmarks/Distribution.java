@@ -0,0 +1,51 @@
+package org.example.benchmarks;
+
+import java.util.Random;
+
+public enum Distribution {
+    RANDOM,
+    SORTED,
+    REVERSE,
+    NEARLY_SORTED,
+    FEW_UNIQUE;
+    
+    public int[] generate(int size, long seed) {
+        Random random = new Random(seed);
+        int[] array = new int[size];
+        
+        switch (this) {
+            case SORTED:
+                for (int i = 0; i < size; i++) {
+                    array[i] = i;
+                }
+                break;
+            case REVERSE:
+                for (int i = 0; i < size; i++) {
+                    array[i] = size - i;
+                }
+                break;
+            case NEARLY_SORTED:
+                for (int i = 0; i < size; i++) {
+                    array[i] = i;
+                }
+                for (int i = 0; i < size / 20; i++) {
+                    int pos1 = random.nextInt(size);
+                    int pos2 = random.nextInt(size);
+                    int temp = array[pos1];
+                    array[pos1] = array[pos2];
+                    array[pos2] = temp;
+                }
+                break;
+            case FEW_UNIQUE:
+                for (int i = 0; i < size; i++) {
+                    array[i] = random.nextInt(16);
+                }
+                break;
+            default:
+                for (int i = 0; i < size; i++) {
+                    array[i] = random.nextInt();
+                }
+        }
+        return array;
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.benchmarks;
+
+import org.example.algorithm.GapSequence;
+import org.example.algorithm.ShellSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class GapSequenceBenchmark {
+    
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int size;
+    
+    @Param({"RANDOM", "NEARLY_SORTED"})
+    public Distribution distribution;
+    
+    @Param({"Powers", "Knuth", "Sedgewick", "Hibbard", "Pratt", "Tokuda", "Ciura"})
+    public String sequence;
+    
+    private int[] data;
+    private GapSequence gaps;
+    
+    @Setup
+    public void setUp() {
+        data = distribution.generate(size, 42);
+        gaps = GapSequence.byName(sequence);
+    }
+    
+    @Benchmark
+    public int[] sort() {
+        int[] arr = data.clone();
+        ShellSort.sort(arr, gaps);
+        return arr;
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.benchmarks;
+
+import org.example.algorithm.GapSequence;
+import org.example.algorithm.ShellSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A key column with one payload column: co-sorting against argsort
+ * followed by a gather of both columns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class KeyValueSortBenchmark {
+    
+    @Param({"10000", "1000000"})
+    public int size;
+    
+    private int[] keys;
+    private int[] ints;
+    private long[] longs;
+    
+    @Setup
+    public void setUp() {
+        keys = Distribution.RANDOM.generate(size, 42);
+        ints = Distribution.RANDOM.generate(size, 7);
+        longs = new long[size];
+        for (int i = 0; i < size; i++) {
+            longs[i] = (long) ints[i] << 16;
+        }
+    }
+    
+    @Benchmark
+    public int[] sortByKeyInt() {
+        int[] k = keys.clone();
+        int[] v = ints.clone();
+        ShellSort.sortByKey(k, v, GapSequence.CIURA);
+        return v;
+    }
+    
+    @Benchmark
+    public long[] sortByKeyLong() {
+        int[] k = keys.clone();
+        long[] v = longs.clone();
+        ShellSort.sortByKey(k, v, GapSequence.CIURA);
+        return v;
+    }
+    
+    @Benchmark
+    public int[] argsortThenGatherInt() {
+        int[] order = ShellSort.argsort(keys);
+        int[] k = new int[size];
+        int[] v = new int[size];
+        for (int i = 0; i < size; i++) {
+            k[i] = keys[order[i]];
+            v[i] = ints[order[i]];
+        }
+        return v;
+    }
+    
+    @Benchmark
+    public long[] argsortThenGatherLong() {
+        int[] order = ShellSort.argsort(keys);
+        int[] k = new int[size];
+        long[] v = new long[size];
+        for (int i = 0; i < size; i++) {
+            k[i] = keys[order[i]];
+            v[i] = longs[order[i]];
+        }
+        return v;
+    }
+}
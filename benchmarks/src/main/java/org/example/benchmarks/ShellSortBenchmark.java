@@ -0,0 +1,134 @@
+package org.example.benchmarks;
+
+import org.example.algorithm.GapSequence;
+import org.example.algorithm.MetricsSink;
+import org.example.algorithm.ShellSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every int[] kernel in ShellSort, plus Arrays.sort as the baseline. Each
+ * method sorts a fresh copy of the input; {@link #copyOnly} measures that copy.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ShellSortBenchmark {
+    
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int size;
+    
+    @Param({"RANDOM", "SORTED", "REVERSE", "NEARLY_SORTED", "FEW_UNIQUE"})
+    public Distribution distribution;
+    
+    private int[] data;
+    private final MetricsSink sink = new MetricsSink();
+    
+    @Setup
+    public void setUp() {
+        data = distribution.generate(size, 42);
+    }
+    
+    @Benchmark
+    public int[] copyOnly() {
+        return data.clone();
+    }
+    
+    @Benchmark
+    public int[] shellSortOriginal() {
+        int[] arr = data.clone();
+        ShellSort.shellSortOriginal(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] shellSortKnuth() {
+        int[] arr = data.clone();
+        ShellSort.shellSortKnuth(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] shellSortKnuthUnguarded() {
+        int[] arr = data.clone();
+        ShellSort.shellSortKnuthUnguarded(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] shellSortSedgewick() {
+        int[] arr = data.clone();
+        ShellSort.shellSortSedgewick(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] sortCiura() {
+        int[] arr = data.clone();
+        ShellSort.sort(arr, GapSequence.CIURA);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] parallelSort() {
+        int[] arr = data.clone();
+        ShellSort.parallelSort(arr, GapSequence.CIURA);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] shellSortBlockParallel() {
+        int[] arr = data.clone();
+        ShellSort.shellSortBlockParallel(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] hybridSort() {
+        int[] arr = data.clone();
+        ShellSort.hybridSort(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public Object shellSortKnuthWithMetrics() {
+        int[] arr = data.clone();
+        return ShellSort.shellSortKnuthWithMetrics(arr);
+    }
+    
+    @Benchmark
+    public int[] shellSortKnuthWithSink() {
+        int[] arr = data.clone();
+        ShellSort.shellSortKnuthWithMetrics(arr, sink);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] arraysSort() {
+        int[] arr = data.clone();
+        Arrays.sort(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] arraysParallelSort() {
+        int[] arr = data.clone();
+        Arrays.parallelSort(arr);
+        return arr;
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.benchmarks;
+
+import org.example.algorithm.GapSequence;
+import org.example.algorithm.ShellSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stable sorts of records by an int field with many duplicates: the packed
+ * stable Shell sort against Arrays.sort (TimSort), plus the unstable
+ * key-extracted Shell sort for reference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class StableSortBenchmark {
+    
+    public static final class Row {
+        final int key;
+        final int position;
+        
+        Row(int key, int position) {
+            this.key = key;
+            this.position = position;
+        }
+        
+        int key() {
+            return key;
+        }
+    }
+    
+    @Param({"10000", "1000000"})
+    public int size;
+    
+    @Param({"RANDOM", "NEARLY_SORTED"})
+    public Distribution distribution;
+    
+    private Row[] rows;
+    private int[] keys;
+    private int[] positions;
+    
+    @Setup
+    public void setUp() {
+        int[] data = distribution.generate(size, 42);
+        rows = new Row[size];
+        keys = new int[size];
+        positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            // About 16 rows per key, so stability matters
+            keys[i] = data[i] / 16;
+            positions[i] = i;
+            rows[i] = new Row(keys[i], i);
+        }
+    }
+    
+    @Benchmark
+    public Row[] stableSortByIntKey() {
+        Row[] arr = rows.clone();
+        ShellSort.stableSortByIntKey(arr, Row::key, GapSequence.CIURA);
+        return arr;
+    }
+    
+    @Benchmark
+    public Row[] arraysSortComparator() {
+        Row[] arr = rows.clone();
+        Arrays.sort(arr, Comparator.comparingInt(Row::key));
+        return arr;
+    }
+    
+    @Benchmark
+    public Row[] unstableSortByIntKey() {
+        Row[] arr = rows.clone();
+        ShellSort.sortByIntKey(arr, Row::key, GapSequence.CIURA);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] stableSortByKeyColumns() {
+        int[] k = keys.clone();
+        int[] v = positions.clone();
+        ShellSort.stableSortByKey(k, v, GapSequence.CIURA);
+        return v;
+    }
+}
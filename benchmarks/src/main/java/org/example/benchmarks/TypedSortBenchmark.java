@@ -0,0 +1,103 @@
+package org.example.benchmarks;
+
+import org.example.algorithm.GapSequence;
+import org.example.algorithm.ShellSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The long[], double[] and object kernels against their Arrays.sort counterparts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TypedSortBenchmark {
+    
+    @Param({"100", "10000", "1000000"})
+    public int size;
+    
+    @Param({"RANDOM", "NEARLY_SORTED"})
+    public Distribution distribution;
+    
+    private long[] longs;
+    private double[] doubles;
+    private Integer[] boxed;
+    
+    @Setup
+    public void setUp() {
+        int[] data = distribution.generate(size, 42);
+        longs = new long[size];
+        doubles = new double[size];
+        boxed = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            longs[i] = (long) data[i] << 16;
+            doubles[i] = data[i] / 7.0;
+            boxed[i] = data[i];
+        }
+    }
+    
+    @Benchmark
+    public long[] sortLong() {
+        long[] arr = longs.clone();
+        ShellSort.sort(arr, GapSequence.CIURA);
+        return arr;
+    }
+    
+    @Benchmark
+    public long[] arraysSortLong() {
+        long[] arr = longs.clone();
+        Arrays.sort(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public double[] sortDouble() {
+        double[] arr = doubles.clone();
+        ShellSort.sort(arr, GapSequence.CIURA);
+        return arr;
+    }
+    
+    @Benchmark
+    public double[] arraysSortDouble() {
+        double[] arr = doubles.clone();
+        Arrays.sort(arr);
+        return arr;
+    }
+    
+    @Benchmark
+    public Integer[] sortComparator() {
+        Integer[] arr = boxed.clone();
+        ShellSort.sort(arr, Comparator.naturalOrder());
+        return arr;
+    }
+    
+    @Benchmark
+    public Integer[] sortByIntKey() {
+        Integer[] arr = boxed.clone();
+        ShellSort.sortByIntKey(arr, Integer::intValue);
+        return arr;
+    }
+    
+    @Benchmark
+    public Integer[] arraysSortObjects() {
+        Integer[] arr = boxed.clone();
+        Arrays.sort(arr, Comparator.naturalOrder());
+        return arr;
+    }
+}
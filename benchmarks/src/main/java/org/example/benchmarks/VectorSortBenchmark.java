@@ -0,0 +1,60 @@
+package org.example.benchmarks;
+
+import org.example.algorithm.GapSequence;
+import org.example.algorithm.ShellSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vector API kernels against the scalar kernel on the same gap table. The
+ * library has to be installed with {@code -Pvector} and the forks add the
+ * incubator module; each fork prints whether the vector kernels are in use,
+ * since a build without them or narrow hardware falls back to the scalar ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class VectorSortBenchmark {
+    
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+    
+    @Param({"RANDOM", "NEARLY_SORTED"})
+    public Distribution distribution;
+    
+    private int[] data;
+    
+    @Setup
+    public void setUp() {
+        data = distribution.generate(size, 42);
+        System.out.println("vectorized: " + ShellSort.isVectorized());
+    }
+    
+    @Benchmark
+    public int[] scalarCiura() {
+        int[] arr = data.clone();
+        ShellSort.sort(arr, GapSequence.CIURA);
+        return arr;
+    }
+    
+    @Benchmark
+    public int[] vectorCiura() {
+        int[] arr = data.clone();
+        ShellSort.vectorSort(arr, GapSequence.CIURA);
+        return arr;
+    }
+}
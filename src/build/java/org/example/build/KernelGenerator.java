@@ -0,0 +1,154 @@
+package org.example.build;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Expands the kernel template into one class per primitive type.
+ *
+ * <p>The template is plain Java with line directives. Lines between
+ * {@code #begin[kernel]} and {@code #end[kernel]} are emitted once for every
+ * gap sequence driver and variant: plain, with metrics, and unguarded.
+ * {@code #if[key]}, {@code #else[key]} and {@code #end[key]} keep or drop
+ * lines depending on the keys active for the type and kernel, and
+ * {@code $name$} placeholders are replaced by their values.
+ */
+public class KernelGenerator {
+    
+    private static final String[] TYPES = {"int", "long", "float", "double", "short", "char", "byte"};
+    private static final String[] SEQUENCES = {"Table", "Halving", "Knuth"};
+    private static final String[] VARIANTS = {"", "metrics", "unguarded"};
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: KernelGenerator <template> <output source root>");
+            System.exit(1);
+        }
+        
+        List<String> template = Files.readAllLines(Path.of(args[0]), StandardCharsets.UTF_8);
+        Path packageDir = Path.of(args[1], "org", "example", "algorithm");
+        Files.createDirectories(packageDir);
+        
+        for (String type : TYPES) {
+            String className = capitalize(type) + "Kernels";
+            String source = generate(template, type);
+            Files.write(packageDir.resolve(className + ".java"), source.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+    
+    static String generate(List<String> template, String type) {
+        Set<String> typeKeys = new HashSet<>();
+        typeKeys.add(type);
+        typeKeys.add(type.equals("float") || type.equals("double") ? "floating" : "integral");
+        
+        Map<String, String> values = new HashMap<>();
+        values.put("type", type);
+        values.put("Type", capitalize(type));
+        values.put("Box", type.equals("float") ? "Float" : "Double");
+        values.put("rawBits", type.equals("float") ? "floatToRawIntBits" : "doubleToRawLongBits");
+        values.put("suffix", type.equals("float") ? "f" : "d");
+        
+        StringBuilder out = new StringBuilder();
+        int kernelStart = indexOf(template, "#begin[kernel]");
+        int kernelEnd = indexOf(template, "#end[kernel]");
+        
+        expand(template.subList(0, kernelStart), typeKeys, values, out);
+        for (String sequence : SEQUENCES) {
+            for (String variant : VARIANTS) {
+                Set<String> keys = new HashSet<>(typeKeys);
+                keys.add(sequence.toLowerCase());
+                if (!variant.isEmpty()) {
+                    keys.add(variant);
+                }
+                
+                Map<String, String> kernelValues = new HashMap<>(values);
+                kernelValues.put("Seq", sequence);
+                kernelValues.put("gapParams", sequence.equals("Table") ? ", int[] gaps, int startIndex" : "");
+                expand(template.subList(kernelStart + 1, kernelEnd), keys, kernelValues, out);
+            }
+        }
+        expand(template.subList(kernelEnd + 1, template.size()), typeKeys, values, out);
+        return out.toString();
+    }
+    
+    private static void expand(List<String> lines, Set<String> keys, Map<String, String> values, StringBuilder out) {
+        // Each entry records whether the enclosing #if branch is being emitted
+        List<Boolean> emitting = new ArrayList<>();
+        List<String> openKeys = new ArrayList<>();
+        
+        for (String line : lines) {
+            String directive = line.trim();
+            if (directive.startsWith("#if[")) {
+                String key = keyOf(directive);
+                openKeys.add(key);
+                emitting.add(keys.contains(key));
+            } else if (directive.startsWith("#else[")) {
+                checkOpen(openKeys, keyOf(directive));
+                emitting.set(emitting.size() - 1, !emitting.get(emitting.size() - 1));
+            } else if (directive.startsWith("#end[")) {
+                checkOpen(openKeys, keyOf(directive));
+                openKeys.remove(openKeys.size() - 1);
+                emitting.remove(emitting.size() - 1);
+            } else if (!emitting.contains(false)) {
+                out.append(substitute(line, values)).append('\n');
+            }
+        }
+        
+        if (!openKeys.isEmpty()) {
+            throw new IllegalStateException("Unclosed #if[" + openKeys.get(openKeys.size() - 1) + "]");
+        }
+    }
+    
+    private static String substitute(String line, Map<String, String> values) {
+        StringBuilder result = new StringBuilder();
+        int pos = 0;
+        
+        while (true) {
+            int start = line.indexOf('$', pos);
+            int end = start < 0 ? -1 : line.indexOf('$', start + 1);
+            if (end < 0) {
+                result.append(line, pos, line.length());
+                return result.toString();
+            }
+            
+            String name = line.substring(start + 1, end);
+            String value = values.get(name);
+            if (value == null) {
+                throw new IllegalStateException("Unknown placeholder $" + name + "$ in: " + line);
+            }
+            result.append(line, pos, start).append(value);
+            pos = end + 1;
+        }
+    }
+    
+    private static void checkOpen(List<String> openKeys, String key) {
+        if (openKeys.isEmpty() || !openKeys.get(openKeys.size() - 1).equals(key)) {
+            throw new IllegalStateException("Directive for [" + key + "] does not match the open #if");
+        }
+    }
+    
+    private static String keyOf(String directive) {
+        return directive.substring(directive.indexOf('[') + 1, directive.indexOf(']'));
+    }
+    
+    private static int indexOf(List<String> template, String directive) {
+        for (int i = 0; i < template.size(); i++) {
+            if (template.get(i).trim().equals(directive)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Template has no " + directive);
+    }
+    
+    private static String capitalize(String type) {
+        return Character.toUpperCase(type.charAt(0)) + type.substring(1);
+    }
+}
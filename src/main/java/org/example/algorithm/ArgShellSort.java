@@ -0,0 +1,35 @@
+package org.example.algorithm;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Computes the sorted order of an {@code int[]} key column without moving
+ * the keys. Each key is packed with its index into one {@code long}, key in
+ * the high half and index in the low half, so the Shell sort compares plain
+ * longs and equal keys come out in index order.
+ */
+final class ArgShellSort {
+    
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+    
+    private ArgShellSort() {
+    }
+    
+    static void argsort(int[] keys, int fromIndex, int toIndex, int[] indices, GapSequence sequence, int parallelThreshold, ForkJoinPool pool) {
+        int n = toIndex - fromIndex;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = pack(keys[fromIndex + i], fromIndex + i);
+        }
+        
+        ParallelShellSort.sort(packed, 0, n, sequence, parallelThreshold, pool);
+        
+        for (int i = 0; i < n; i++) {
+            indices[i] = (int) (packed[i] & INDEX_MASK);
+        }
+    }
+    
+    static long pack(int key, int index) {
+        return (long) key << 32 | index & INDEX_MASK;
+    }
+}
@@ -0,0 +1,253 @@
+package org.example.algorithm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorts many small arrays at once. Arrays of up to {@value #MAX_NETWORK_SIZE}
+ * elements go through a fixed sorting network with branchless compare-exchanges;
+ * longer ones use the Ciura Shell kernel. Batches big enough to be worth it
+ * are split across a fork/join pool.
+ */
+final class BatchShellSort {
+    
+    static final int MAX_NETWORK_SIZE = 16;
+    static final int DEFAULT_THRESHOLD = 1 << 15;
+    
+    /**
+     * Compare-exchange pairs of the smallest known sorting network for each
+     * size, one layer per line. 15 inputs use the 16-input network with the
+     * last wire dropped, which is as small as any known.
+     */
+    static final int[][] NETWORKS = {
+        {},
+        {},
+        {  // 2 inputs, 1 comparator
+            0, 1
+        },
+        {  // 3 inputs, 3 comparators
+            0, 2,
+            0, 1,
+            1, 2
+        },
+        {  // 4 inputs, 5 comparators
+            0, 1, 2, 3,
+            0, 2, 1, 3,
+            1, 2
+        },
+        {  // 5 inputs, 9 comparators
+            0, 3, 1, 4,
+            0, 2, 1, 3,
+            0, 1, 2, 4,
+            1, 2, 3, 4,
+            2, 3
+        },
+        {  // 6 inputs, 12 comparators
+            0, 5, 1, 3, 2, 4,
+            1, 2, 3, 4,
+            0, 3, 2, 5,
+            0, 1, 2, 3, 4, 5,
+            1, 2, 3, 4
+        },
+        {  // 7 inputs, 16 comparators
+            0, 6, 2, 3, 4, 5,
+            0, 2, 1, 4, 3, 6,
+            0, 1, 2, 5, 3, 4,
+            1, 2, 4, 6,
+            2, 3, 4, 5,
+            1, 2, 3, 4, 5, 6
+        },
+        {  // 8 inputs, 19 comparators
+            0, 2, 1, 3, 4, 6, 5, 7,
+            0, 4, 1, 5, 2, 6, 3, 7,
+            0, 1, 2, 3, 4, 5, 6, 7,
+            2, 4, 3, 5,
+            1, 4, 3, 6,
+            1, 2, 3, 4, 5, 6
+        },
+        {  // 9 inputs, 25 comparators
+            0, 3, 1, 7, 2, 5, 4, 8,
+            0, 7, 2, 4, 3, 8, 5, 6,
+            0, 2, 1, 3, 4, 5, 7, 8,
+            1, 4, 3, 6, 5, 7,
+            0, 1, 2, 4, 3, 5, 6, 8,
+            2, 3, 4, 5, 6, 7,
+            1, 2, 3, 4, 5, 6
+        },
+        {  // 10 inputs, 29 comparators
+            0, 8, 1, 9, 2, 7, 3, 5, 4, 6,
+            0, 2, 1, 4, 5, 8, 7, 9,
+            0, 3, 2, 4, 5, 7, 6, 9,
+            0, 1, 3, 6, 8, 9,
+            1, 5, 2, 3, 4, 8, 6, 7,
+            1, 2, 3, 5, 4, 6, 7, 8,
+            2, 3, 4, 5, 6, 7,
+            3, 4, 5, 6
+        },
+        {  // 11 inputs, 35 comparators
+            0, 9, 1, 6, 2, 4, 3, 7, 5, 8,
+            0, 1, 3, 5, 4, 10, 6, 9, 7, 8,
+            1, 3, 2, 5, 4, 7, 8, 10,
+            0, 4, 1, 2, 3, 7, 5, 9, 6, 8,
+            0, 1, 2, 6, 4, 5, 7, 8, 9, 10,
+            2, 4, 3, 6, 5, 7, 8, 9,
+            1, 2, 3, 4, 5, 6, 7, 8,
+            2, 3, 4, 5, 6, 7
+        },
+        {  // 12 inputs, 39 comparators
+            0, 8, 1, 7, 2, 6, 3, 11, 4, 10, 5, 9,
+            0, 1, 2, 5, 3, 4, 6, 9, 7, 8, 10, 11,
+            0, 2, 1, 6, 5, 10, 9, 11,
+            0, 3, 1, 2, 4, 6, 5, 7, 8, 11, 9, 10,
+            1, 4, 3, 5, 6, 8, 7, 10,
+            1, 3, 2, 5, 6, 9, 8, 10,
+            2, 3, 4, 5, 6, 7, 8, 9,
+            4, 6, 5, 7,
+            3, 4, 5, 6, 7, 8
+        },
+        {  // 13 inputs, 45 comparators
+            0, 12, 1, 10, 2, 9, 3, 7, 5, 11, 6, 8,
+            1, 6, 2, 3, 4, 11, 7, 9, 8, 10,
+            0, 4, 1, 2, 3, 6, 7, 8, 9, 10, 11, 12,
+            4, 6, 5, 9, 8, 11, 10, 12,
+            0, 5, 3, 8, 4, 7, 6, 11, 9, 10,
+            0, 1, 2, 5, 6, 9, 7, 8, 10, 11,
+            1, 3, 2, 4, 5, 6, 9, 10,
+            1, 2, 3, 4, 5, 7, 6, 8,
+            2, 3, 4, 5, 6, 7, 8, 9,
+            3, 4, 5, 6
+        },
+        {  // 14 inputs, 51 comparator
+            0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13,
+            0, 2, 1, 3, 4, 8, 5, 9, 10, 12, 11, 13,
+            0, 4, 1, 2, 3, 7, 5, 8, 6, 10, 9, 13, 11, 12,
+            0, 6, 1, 5, 3, 9, 4, 10, 7, 13, 8, 12,
+            2, 10, 3, 11, 4, 6, 7, 9,
+            1, 3, 2, 8, 5, 11, 6, 7, 10, 12,
+            1, 4, 2, 6, 3, 5, 7, 11, 8, 10, 9, 12,
+            2, 4, 3, 6, 5, 8, 7, 10, 9, 11,
+            3, 4, 5, 6, 7, 8, 9, 10,
+            6, 7
+        },
+        {  // 15 inputs, 56 comparators
+            0, 13, 1, 12, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10,
+            0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 11, 12,
+            0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13,
+            0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 12, 14,
+            1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14,
+            1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14,
+            2, 4, 3, 6, 9, 12, 11, 13,
+            3, 5, 6, 8, 7, 9, 10, 12,
+            3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+            6, 7, 8, 9
+        },
+        {  // 16 inputs, 60 comparators
+            0, 13, 1, 12, 2, 15, 3, 14, 4, 8, 5, 6, 7, 11, 9, 10,
+            0, 5, 1, 7, 2, 9, 3, 4, 6, 13, 8, 14, 10, 15, 11, 12,
+            0, 1, 2, 3, 4, 5, 6, 8, 7, 9, 10, 11, 12, 13, 14, 15,
+            0, 2, 1, 3, 4, 10, 5, 11, 6, 7, 8, 9, 12, 14, 13, 15,
+            1, 2, 3, 12, 4, 6, 5, 7, 8, 10, 9, 11, 13, 14,
+            1, 4, 2, 6, 5, 8, 7, 10, 9, 13, 11, 14,
+            2, 4, 3, 6, 9, 12, 11, 13,
+            3, 5, 6, 8, 7, 9, 10, 12,
+            3, 4, 5, 6, 7, 8, 9, 10, 11, 12,
+            6, 7, 8, 9
+        }
+    };
+    
+    private BatchShellSort() {
+    }
+    
+    static void sortRows(int[][] rows, int parallelThreshold, ForkJoinPool pool) {
+        long elements = 0;
+        for (int[] row : rows) {
+            elements += row.length;
+        }
+        if (elements < parallelThreshold || pool.getParallelism() < 2) {
+            sortRows(rows, 0, rows.length);
+            return;
+        }
+        
+        int rowsPerTask = (int) Math.max(1, (long) parallelThreshold * rows.length / elements);
+        pool.invoke(new RowTask(rows, null, 0, 0, rows.length, rowsPerTask));
+    }
+    
+    static void sortSegments(int[] flat, int stride, int parallelThreshold, ForkJoinPool pool) {
+        int segments = flat.length / stride + (flat.length % stride == 0 ? 0 : 1);
+        if (flat.length < parallelThreshold || pool.getParallelism() < 2) {
+            sortSegments(flat, stride, 0, segments);
+            return;
+        }
+        
+        int segmentsPerTask = Math.max(1, parallelThreshold / stride);
+        pool.invoke(new RowTask(null, flat, stride, 0, segments, segmentsPerTask));
+    }
+    
+    static void sortRows(int[][] rows, int from, int to) {
+        for (int r = from; r < to; r++) {
+            sortSmall(rows[r], 0, rows[r].length);
+        }
+    }
+    
+    static void sortSegments(int[] flat, int stride, int from, int to) {
+        for (int s = from; s < to; s++) {
+            int start = s * stride;
+            sortSmall(flat, start, start + Math.min(flat.length - start, stride));
+        }
+    }
+    
+    static void sortSmall(int[] arr, int fromIndex, int toIndex) {
+        int n = toIndex - fromIndex;
+        if (n <= MAX_NETWORK_SIZE) {
+            int[] network = NETWORKS[n];
+            for (int k = 0; k < network.length; k += 2) {
+                int i = fromIndex + network[k];
+                int j = fromIndex + network[k + 1];
+                int a = arr[i];
+                int b = arr[j];
+                arr[i] = Math.min(a, b);
+                arr[j] = Math.max(a, b);
+            }
+        } else {
+            ShellSort.sortRange(arr, fromIndex, toIndex, GapSequence.CIURA);
+        }
+    }
+    
+    /**
+     * Sorts rows {@code from .. to - 1} of either a jagged array or a flat one
+     * cut into {@code stride}-element segments.
+     */
+    private static final class RowTask extends RecursiveAction {
+        private final int[][] rows;
+        private final int[] flat;
+        private final int stride;
+        private final int from;
+        private final int to;
+        private final int rowsPerTask;
+        
+        RowTask(int[][] rows, int[] flat, int stride, int from, int to, int rowsPerTask) {
+            this.rows = rows;
+            this.flat = flat;
+            this.stride = stride;
+            this.from = from;
+            this.to = to;
+            this.rowsPerTask = rowsPerTask;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= rowsPerTask) {
+                if (rows != null) {
+                    sortRows(rows, from, to);
+                } else {
+                    sortSegments(flat, stride, from, to);
+                }
+                return;
+            }
+            
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowTask(rows, flat, stride, from, mid, rowsPerTask),
+                      new RowTask(rows, flat, stride, mid, to, rowsPerTask));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.algorithm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Shell-sorts cache-sized blocks independently and combines them with a
+ * balanced tree of parallel merges. The merge levels alternate between the
+ * array and a single scratch buffer, so no level copies its result back.
+ * Scratch element {@code i - fromIndex} shadows array element {@code i}, and
+ * a caller that passes its own buffer can reuse it across calls.
+ */
+final class BlockParallelShellSort {
+    
+    static final int BLOCK_SIZE = 1 << 15;
+    
+    private static final int MERGE_GRAIN = 1 << 13;
+    
+    private BlockParallelShellSort() {
+    }
+    
+    static void sort(int[] arr, int fromIndex, int toIndex, GapSequence sequence, int[] scratch, ForkJoinPool pool) {
+        int n = toIndex - fromIndex;
+        int blocks = Math.max(pool.getParallelism(), (n + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        
+        if (n <= BLOCK_SIZE || blocks < 2) {
+            ShellSort.sortRange(arr, fromIndex, toIndex, sequence);
+            return;
+        }
+        
+        if (scratch == null) {
+            scratch = new int[n];
+        }
+        pool.invoke(new BlockTask(arr, scratch, fromIndex, fromIndex, toIndex, blocks, false, sequence));
+    }
+    
+    static void merge(int[] src, int aLo, int aHi, int bLo, int bHi, int[] dst, int dLo) {
+        while (aLo < aHi && bLo < bHi) {
+            if (src[bLo] < src[aLo]) {
+                dst[dLo++] = src[bLo++];
+            } else {
+                dst[dLo++] = src[aLo++];
+            }
+        }
+        System.arraycopy(src, aLo, dst, dLo, aHi - aLo);
+        System.arraycopy(src, bLo, dst, dLo + aHi - aLo, bHi - bLo);
+    }
+    
+    private static int lowerBound(int[] arr, int from, int to, int key) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (arr[mid] < key) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+    
+    private static final class BlockTask extends RecursiveAction {
+        private final int[] arr;
+        private final int[] scratch;
+        private final int base;
+        private final int from;
+        private final int to;
+        private final int blocks;
+        private final boolean intoScratch;
+        private final GapSequence sequence;
+        
+        BlockTask(int[] arr, int[] scratch, int base, int from, int to, int blocks, boolean intoScratch, GapSequence sequence) {
+            this.arr = arr;
+            this.scratch = scratch;
+            this.base = base;
+            this.from = from;
+            this.to = to;
+            this.blocks = blocks;
+            this.intoScratch = intoScratch;
+            this.sequence = sequence;
+        }
+        
+        @Override
+        protected void compute() {
+            if (blocks == 1) {
+                ShellSort.sortRange(arr, from, to, sequence);
+                if (intoScratch) {
+                    System.arraycopy(arr, from, scratch, from - base, to - from);
+                }
+                return;
+            }
+            
+            int leftBlocks = blocks / 2;
+            int mid = (int) (from + (long) (to - from) * leftBlocks / blocks);
+            invokeAll(new BlockTask(arr, scratch, base, from, mid, leftBlocks, !intoScratch, sequence),
+                      new BlockTask(arr, scratch, base, mid, to, blocks - leftBlocks, !intoScratch, sequence));
+            
+            if (intoScratch) {
+                new MergeTask(arr, from, mid, mid, to, scratch, from - base).compute();
+            } else {
+                new MergeTask(scratch, from - base, mid - base, mid - base, to - base, arr, from).compute();
+            }
+        }
+    }
+    
+    private static final class MergeTask extends RecursiveAction {
+        private final int[] src;
+        private final int aLo;
+        private final int aHi;
+        private final int bLo;
+        private final int bHi;
+        private final int[] dst;
+        private final int dLo;
+        
+        MergeTask(int[] src, int aLo, int aHi, int bLo, int bHi, int[] dst, int dLo) {
+            this.src = src;
+            this.aLo = aLo;
+            this.aHi = aHi;
+            this.bLo = bLo;
+            this.bHi = bHi;
+            this.dst = dst;
+            this.dLo = dLo;
+        }
+        
+        @Override
+        protected void compute() {
+            int aLen = aHi - aLo;
+            int bLen = bHi - bLo;
+            if (aLen + bLen <= MERGE_GRAIN) {
+                merge(src, aLo, aHi, bLo, bHi, dst, dLo);
+                return;
+            }
+            if (aLen < bLen) {
+                new MergeTask(src, bLo, bHi, aLo, aHi, dst, dLo).compute();
+                return;
+            }
+            
+            // Split the longer run in half and cut the other run at the same key
+            int aMid = (aLo + aHi) >>> 1;
+            int bMid = lowerBound(src, bLo, bHi, src[aMid]);
+            int dMid = dLo + (aMid - aLo) + (bMid - bLo);
+            invokeAll(new MergeTask(src, aLo, aMid, bLo, bMid, dst, dLo),
+                      new MergeTask(src, aMid, aHi, bMid, bHi, dst, dMid));
+        }
+    }
+}
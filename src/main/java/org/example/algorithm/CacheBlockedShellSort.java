@@ -0,0 +1,41 @@
+package org.example.algorithm;
+
+/**
+ * Shell sort that tiles passes whose chains are too long to stay in cache.
+ * A plain h-pass walks the whole array row by row, so with gaps in the
+ * hundreds of thousands every {@code arr[j - gap]} is a cache and TLB miss.
+ * Here the chains are cut into blocks of neighbouring columns, each sized
+ * so that all its rows fit in a tile of about {@code tileBytes}, and each
+ * block is finished before the next starts.
+ */
+final class CacheBlockedShellSort {
+    
+    static final int DEFAULT_TILE_BYTES = 1 << 18;
+    
+    // A block narrower than this wastes most of every cache line it touches
+    private static final int MIN_CHAINS_PER_TILE = 64;
+    
+    private CacheBlockedShellSort() {
+    }
+    
+    static void sort(int[] arr, int fromIndex, int toIndex, GapSequence sequence, int tileBytes) {
+        int n = toIndex - fromIndex;
+        int[] gaps = sequence.gaps;
+        
+        for (int k = sequence.startIndex(n); k >= 0; k--) {
+            int gap = gaps[k];
+            int rows = (n - 1) / gap + 1;
+            long chainsPerTile = tileBytes / ((long) rows * Integer.BYTES);
+            int lastChain = fromIndex + gap;
+            if (chainsPerTile < MIN_CHAINS_PER_TILE || chainsPerTile >= gap) {
+                // Chains too long for any useful tile, or the whole pass fits in one
+                ParallelShellSort.pass(arr, toIndex, gap, fromIndex, lastChain);
+                continue;
+            }
+            
+            for (int chain = fromIndex; chain < lastChain; chain += (int) chainsPerTile) {
+                ParallelShellSort.pass(arr, toIndex, gap, chain, (int) Math.min(chain + chainsPerTile, lastChain));
+            }
+        }
+    }
+}
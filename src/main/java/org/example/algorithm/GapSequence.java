@@ -0,0 +1,252 @@
+package org.example.algorithm;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * An immutable, ascending table of Shell sort gaps starting at 1.
+ * Tables are built once, so picking the gaps for an array is a binary search.
+ */
+public final class GapSequence {
+    
+    public static final GapSequence POWERS_OF_TWO = new GapSequence("Powers of two", powersOfTwoGaps());
+    public static final GapSequence KNUTH = new GapSequence("Knuth's", knuthGaps());
+    public static final GapSequence SEDGEWICK = new GapSequence("Sedgewick's", sedgewickGaps());
+    public static final GapSequence HIBBARD = new GapSequence("Hibbard's", hibbardGaps());
+    public static final GapSequence PRATT = new GapSequence("Pratt's", prattGaps());
+    public static final GapSequence TOKUDA = new GapSequence("Tokuda's", tokudaGaps());
+    public static final GapSequence CIURA = new GapSequence("Ciura's", ciuraGaps());
+    
+    private static final GapSequence[] BUILT_IN = {POWERS_OF_TWO, KNUTH, SEDGEWICK, HIBBARD, PRATT, TOKUDA, CIURA};
+    
+    /** System property naming a gap table file, as written by {@link #write}, to use as {@link #tuned()}. */
+    public static final String TUNED_PROPERTY = "shellsort.gaps";
+    
+    private static volatile GapSequence tuned;
+    
+    private final String name;
+    final int[] gaps;
+    
+    private GapSequence(String name, int[] gaps) {
+        this.name = name;
+        this.gaps = gaps;
+    }
+    
+    public static GapSequence of(String name, int[] gaps) {
+        if (gaps.length == 0 || gaps[0] != 1) {
+            throw new IllegalArgumentException("Gap sequence must start with 1");
+        }
+        for (int i = 1; i < gaps.length; i++) {
+            if (gaps[i] <= gaps[i - 1]) {
+                throw new IllegalArgumentException("Gap sequence must be strictly ascending at index " + i);
+            }
+        }
+        return new GapSequence(name, gaps.clone());
+    }
+    
+    public static GapSequence[] builtIn() {
+        return BUILT_IN.clone();
+    }
+    
+    /**
+     * The table from the file named by the {@value #TUNED_PROPERTY} system
+     * property, read on first use, or Ciura's when the property is not set.
+     */
+    public static GapSequence tuned() {
+        GapSequence sequence = tuned;
+        if (sequence == null) {
+            // Loading twice from racing threads gives equal tables, so no lock
+            sequence = loadTuned();
+            tuned = sequence;
+        }
+        return sequence;
+    }
+    
+    /**
+     * Reads a table written by {@link #write}: a properties file with the
+     * comma-separated gaps under {@code gaps} and an optional {@code name}.
+     */
+    public static GapSequence read(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        String gaps = properties.getProperty("gaps");
+        if (gaps == null) {
+            throw new IOException("No gaps in " + file);
+        }
+        int[] table = Arrays.stream(gaps.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        return of(properties.getProperty("name", file.getFileName().toString()), table);
+    }
+    
+    public void write(Path file) throws IOException {
+        StringBuilder gapList = new StringBuilder();
+        for (int i = 0; i < gaps.length; i++) {
+            gapList.append(i == 0 ? "" : ",").append(gaps[i]);
+        }
+        Properties properties = new Properties();
+        properties.setProperty("name", name);
+        properties.setProperty("gaps", gapList.toString());
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "Shell sort gap table, load with -D" + TUNED_PROPERTY + "=<file>");
+        }
+    }
+    
+    /**
+     * Looks up a built-in table by its full name or by a prefix that only
+     * one name starts with, ignoring case, or the {@link #tuned()} table.
+     */
+    public static GapSequence byName(String name) {
+        if (name.equalsIgnoreCase("tuned")) {
+            return tuned();
+        }
+        String prefix = name.toLowerCase();
+        GapSequence match = null;
+        for (GapSequence sequence : BUILT_IN) {
+            if (sequence.name.equalsIgnoreCase(name)) {
+                return sequence;
+            }
+            if (sequence.name.toLowerCase().startsWith(prefix)) {
+                if (match != null) {
+                    throw new IllegalArgumentException("Ambiguous gap sequence: " + name + " matches " + match.name + " and " + sequence.name);
+                }
+                match = sequence;
+            }
+        }
+        if (match == null) {
+            throw new IllegalArgumentException("Unknown gap sequence: " + name);
+        }
+        return match;
+    }
+    
+    public String name() {
+        return name;
+    }
+    
+    public int length() {
+        return gaps.length;
+    }
+    
+    public int gap(int index) {
+        return gaps[index];
+    }
+    
+    public int[] toArray() {
+        return gaps.clone();
+    }
+    
+    /**
+     * Returns the index of the largest gap smaller than {@code n}, or -1 if
+     * an array of that length needs no passes at all.
+     */
+    public int startIndex(int n) {
+        int low = 0;
+        int high = gaps.length - 1;
+        
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (gaps[mid] < n) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+    
+    @Override
+    public String toString() {
+        return name + Arrays.toString(gaps);
+    }
+    
+    private static GapSequence loadTuned() {
+        String file = System.getProperty(TUNED_PROPERTY);
+        if (file == null) {
+            return CIURA;
+        }
+        try {
+            return read(Path.of(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read gap table " + file, e);
+        }
+    }
+    
+    private static int[] powersOfTwoGaps() {
+        // Shell's n/2, n/4, ... depends on n, which a fixed table cannot; see ShellSort.shellSortOriginal
+        List<Long> gaps = new ArrayList<>();
+        for (long gap = 1; gap <= Integer.MAX_VALUE; gap *= 2) {
+            gaps.add(gap);
+        }
+        return toTable(gaps);
+    }
+    
+    private static int[] knuthGaps() {
+        List<Long> gaps = new ArrayList<>();
+        for (long gap = 1; gap <= Integer.MAX_VALUE; gap = 3 * gap + 1) {
+            gaps.add(gap);
+        }
+        return toTable(gaps);
+    }
+    
+    private static int[] sedgewickGaps() {
+        List<Long> gaps = new ArrayList<>();
+        for (int k = 0; k < 32; k++) {
+            long gap1 = 9 * (1L << (2 * k)) - 9 * (1L << k) + 1;
+            long gap2 = (1L << (2 * k + 2)) - 3 * (1L << (k + 1)) + 1;
+            
+            if (gap1 > 0 && gap1 <= Integer.MAX_VALUE) {
+                gaps.add(gap1);
+            }
+            if (gap2 > 0 && gap2 <= Integer.MAX_VALUE) {
+                gaps.add(gap2);
+            }
+        }
+        return toTable(gaps);
+    }
+    
+    private static int[] hibbardGaps() {
+        List<Long> gaps = new ArrayList<>();
+        for (int k = 1; k <= 31; k++) {
+            gaps.add((1L << k) - 1);
+        }
+        return toTable(gaps);
+    }
+    
+    private static int[] prattGaps() {
+        List<Long> gaps = new ArrayList<>();
+        for (long pow2 = 1; pow2 <= Integer.MAX_VALUE; pow2 *= 2) {
+            for (long gap = pow2; gap <= Integer.MAX_VALUE; gap *= 3) {
+                gaps.add(gap);
+            }
+        }
+        return toTable(gaps);
+    }
+    
+    private static int[] tokudaGaps() {
+        List<Long> gaps = new ArrayList<>();
+        for (double h = 1; Math.ceil(h) <= Integer.MAX_VALUE; h = 2.25 * h + 1) {
+            gaps.add((long) Math.ceil(h));
+        }
+        return toTable(gaps);
+    }
+    
+    private static int[] ciuraGaps() {
+        List<Long> gaps = new ArrayList<>(List.of(1L, 4L, 10L, 23L, 57L, 132L, 301L, 701L, 1750L));
+        for (long gap = (long) (1750 * 2.25); gap <= Integer.MAX_VALUE; gap = (long) (gap * 2.25)) {
+            gaps.add(gap);
+        }
+        return toTable(gaps);
+    }
+    
+    private static int[] toTable(List<Long> gaps) {
+        return gaps.stream().mapToLong(Long::longValue).sorted().distinct().mapToInt(gap -> (int) gap).toArray();
+    }
+}
@@ -0,0 +1,356 @@
+package org.example.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Searches for the gap table that sorts a given workload fastest. Windows of
+ * the workload are sorted with each candidate, and the fitness blends the
+ * comparison and swap counts of the metrics kernels with the wall time of
+ * the plain kernel, both relative to Ciura's sequence (lower is better).
+ *
+ * <p>The search is a small genetic algorithm over the gaps below the window
+ * size, seeded with the built-in tables. Above the largest searched gap a
+ * candidate grows by {@value #EXTENSION_RATIO}x, so the table it produces
+ * still works for arrays of any length. The counts of each generation are
+ * taken in parallel; wall times are taken one candidate at a time, just
+ * like the baseline's, so candidates never compete for cores while timed.
+ */
+public final class GapTuner {
+    
+    private static final double EXTENSION_RATIO = 2.25;
+    private static final int TIMING_ROUNDS = 5;
+    private static final int TOURNAMENT = 3;
+    private static final int FINAL_ROUNDS = 5;
+    
+    private final int size;
+    private final int[][] windows;
+    private final Random random;
+    private final Score baseline;
+    
+    public GapTuner(int[] data, int size, int samples, long seed) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Window size must be at least 2: " + size);
+        }
+        if (samples < 1) {
+            throw new IllegalArgumentException("Sample count must be positive: " + samples);
+        }
+        if (data.length < size) {
+            throw new IllegalArgumentException("Need at least " + size + " values, got " + data.length);
+        }
+        this.size = size;
+        this.random = new Random(seed);
+        this.windows = new int[samples][];
+        for (int s = 0; s < samples; s++) {
+            int from = random.nextInt(data.length - size + 1);
+            windows[s] = Arrays.copyOfRange(data, from, from + size);
+        }
+        
+        // Compile both kernels before anything is timed
+        for (int round = 0; round < 10; round++) {
+            measure(GapSequence.CIURA);
+        }
+        this.baseline = measure(GapSequence.CIURA);
+    }
+    
+    /**
+     * Sorts every window with {@code sequence}: once through the metrics
+     * kernel for the counts, then {@value #TIMING_ROUNDS} times through the
+     * plain kernel, keeping the fastest round.
+     */
+    public Score measure(GapSequence sequence) {
+        return score(sequence, count(sequence), time(sequence));
+    }
+    
+    private MetricsSink count(GapSequence sequence) {
+        int[] work = new int[size];
+        MetricsSink sink = new MetricsSink();
+        for (int[] window : windows) {
+            System.arraycopy(window, 0, work, 0, size);
+            ShellSort.sortRangeWithMetrics(work, 0, size, sequence, sink);
+        }
+        return sink;
+    }
+    
+    private long time(GapSequence sequence) {
+        int[] work = new int[size];
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < TIMING_ROUNDS; round++) {
+            long elapsed = 0;
+            for (int[] window : windows) {
+                System.arraycopy(window, 0, work, 0, size);
+                long startTime = System.nanoTime();
+                ShellSort.sortRange(work, 0, size, sequence);
+                elapsed += System.nanoTime() - startTime;
+            }
+            best = Math.min(best, elapsed);
+        }
+        return best;
+    }
+    
+    private Score score(GapSequence sequence, MetricsSink sink, long elapsed) {
+        return new Score(sequence, sink.comparisons() / windows.length, sink.swaps() / windows.length, elapsed / windows.length);
+    }
+    
+    /**
+     * Half operation count, half wall time, each relative to Ciura's
+     * sequence on the same windows, so 1.0 ties the baseline.
+     */
+    public double fitness(Score score) {
+        double operations = (double) (score.comparisons + score.swaps) / Math.max(1, baseline.comparisons + baseline.swaps);
+        double time = (double) score.nanos / Math.max(1, baseline.nanos);
+        return 0.5 * operations + 0.5 * time;
+    }
+    
+    public Score baseline() {
+        return baseline;
+    }
+    
+    /**
+     * Runs the search and returns the score of the best table found. An
+     * evolved table is named after the window size it was tuned for; a
+     * built-in one wins when nothing evolved beats it.
+     */
+    public Score search(int population, int generations, ForkJoinPool pool) {
+        if (population < 2) {
+            throw new IllegalArgumentException("Population must be at least 2: " + population);
+        }
+        List<int[]> genomes = new ArrayList<>();
+        for (GapSequence sequence : GapSequence.builtIn()) {
+            addUnique(genomes, normalize(sequence.toArray()));
+        }
+        while (genomes.size() < population) {
+            addUnique(genomes, randomGenome());
+        }
+        
+        Score[] scores = evaluate(genomes, pool);
+        int elite = Math.max(1, population / 4);
+        for (int generation = 0; generation < generations; generation++) {
+            Integer[] order = ranking(scores);
+            List<int[]> next = new ArrayList<>();
+            List<Score> kept = new ArrayList<>();
+            for (int i = 0; i < elite; i++) {
+                next.add(genomes.get(order[i]));
+                kept.add(scores[order[i]]);
+            }
+            
+            int attempts = 0;
+            while (next.size() < population && attempts++ < population * 20) {
+                int[] child = crossover(genomes.get(tournament(scores)), genomes.get(tournament(scores)));
+                addUnique(next, mutate(child));
+            }
+            
+            Score[] fresh = evaluate(next.subList(elite, next.size()), pool);
+            genomes = next;
+            scores = new Score[next.size()];
+            for (int i = 0; i < elite; i++) {
+                scores[i] = kept.get(i);
+            }
+            System.arraycopy(fresh, 0, scores, elite, fresh.length);
+        }
+        
+        // A lucky timing can carry a candidate to the top, so the elite and
+        // the built-in tables are measured again, round-robin, and the
+        // winner is the best average over those rounds
+        Integer[] order = ranking(scores);
+        List<GapSequence> finalists = new ArrayList<>(Arrays.asList(GapSequence.builtIn()));
+        for (int i = 0; i < Math.min(elite, order.length); i++) {
+            finalists.add(scores[order[i]].sequence);
+        }
+        double[] totals = new double[finalists.size()];
+        Score[] latest = new Score[finalists.size()];
+        for (int round = 0; round < FINAL_ROUNDS; round++) {
+            for (int i = 0; i < finalists.size(); i++) {
+                latest[i] = measure(finalists.get(i));
+                totals[i] += fitness(latest[i]);
+            }
+        }
+        int best = 0;
+        for (int i = 1; i < totals.length; i++) {
+            if (totals[i] < totals[best]) {
+                best = i;
+            }
+        }
+        return latest[best];
+    }
+    
+    private Score[] evaluate(List<int[]> genomes, ForkJoinPool pool) {
+        GapSequence[] sequences = new GapSequence[genomes.size()];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = toSequence(genomes.get(i));
+        }
+        MetricsSink[] sinks = new MetricsSink[sequences.length];
+        pool.invoke(new Evaluation(sequences, sinks, 0, sequences.length));
+        
+        Score[] scores = new Score[sequences.length];
+        for (int i = 0; i < sequences.length; i++) {
+            scores[i] = score(sequences[i], sinks[i], time(sequences[i]));
+        }
+        return scores;
+    }
+    
+    private Integer[] ranking(Score[] scores) {
+        Integer[] order = new Integer[scores.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> fitness(scores[i])));
+        return order;
+    }
+    
+    private int tournament(Score[] scores) {
+        int best = random.nextInt(scores.length);
+        for (int round = 1; round < TOURNAMENT; round++) {
+            int challenger = random.nextInt(scores.length);
+            if (fitness(scores[challenger]) < fitness(scores[best])) {
+                best = challenger;
+            }
+        }
+        return best;
+    }
+    
+    private int[] randomGenome() {
+        double ratio = 1.8 + random.nextDouble() * 1.4;
+        List<Integer> gaps = new ArrayList<>();
+        for (long gap = 1; gap < size; gap = Math.max(gap + 1, Math.round(gap * ratio * (0.85 + random.nextDouble() * 0.3)))) {
+            gaps.add((int) gap);
+        }
+        return gaps.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
+    /**
+     * Gaps of {@code a} below a random cut, then those of {@code b} from it up.
+     */
+    private int[] crossover(int[] a, int[] b) {
+        int cut = 2 + random.nextInt(Math.max(1, size - 2));
+        int[] child = new int[a.length + b.length];
+        int length = 0;
+        for (int gap : a) {
+            if (gap < cut) {
+                child[length++] = gap;
+            }
+        }
+        for (int gap : b) {
+            if (gap >= cut) {
+                child[length++] = gap;
+            }
+        }
+        return normalize(Arrays.copyOf(child, length));
+    }
+    
+    /**
+     * Scales, drops or inserts one gap above 1.
+     */
+    private int[] mutate(int[] genome) {
+        if (genome.length < 2) {
+            return randomGenome();
+        }
+        int index = 1 + random.nextInt(genome.length - 1);
+        int[] mutated;
+        switch (random.nextInt(3)) {
+            case 0:
+                mutated = genome.clone();
+                mutated[index] = (int) Math.round(mutated[index] * (0.75 + random.nextDouble() * 0.6));
+                break;
+            case 1:
+                mutated = new int[genome.length - 1];
+                System.arraycopy(genome, 0, mutated, 0, index);
+                System.arraycopy(genome, index + 1, mutated, index, genome.length - index - 1);
+                break;
+            default:
+                mutated = Arrays.copyOf(genome, genome.length + 1);
+                mutated[genome.length] = (int) Math.round(Math.sqrt((double) genome[index - 1] * genome[index]));
+                break;
+        }
+        return normalize(mutated);
+    }
+    
+    /**
+     * Sorted, distinct gaps from 1 up to below the window size.
+     */
+    private int[] normalize(int[] gaps) {
+        int[] table = Arrays.stream(gaps).filter(gap -> gap > 1 && gap < size).sorted().distinct().toArray();
+        int[] normalized = new int[table.length + 1];
+        normalized[0] = 1;
+        System.arraycopy(table, 0, normalized, 1, table.length);
+        return normalized;
+    }
+    
+    private GapSequence toSequence(int[] genome) {
+        List<Integer> gaps = new ArrayList<>();
+        for (int gap : genome) {
+            gaps.add(gap);
+        }
+        long gap = genome[genome.length - 1];
+        while (true) {
+            gap = Math.max(gap + 1, (long) Math.ceil(gap * EXTENSION_RATIO));
+            if (gap > Integer.MAX_VALUE) {
+                break;
+            }
+            gaps.add((int) gap);
+        }
+        return GapSequence.of("Tuned n=" + size, gaps.stream().mapToInt(Integer::intValue).toArray());
+    }
+    
+    private static void addUnique(List<int[]> genomes, int[] genome) {
+        for (int[] existing : genomes) {
+            if (Arrays.equals(existing, genome)) {
+                return;
+            }
+        }
+        genomes.add(genome);
+    }
+    
+    /**
+     * Average cost of one window sort with a gap table.
+     */
+    public static final class Score {
+        public final GapSequence sequence;
+        public final long comparisons;
+        public final long swaps;
+        public final long nanos;
+        
+        Score(GapSequence sequence, long comparisons, long swaps, long nanos) {
+            this.sequence = sequence;
+            this.comparisons = comparisons;
+            this.swaps = swaps;
+            this.nanos = nanos;
+        }
+    }
+    
+    /**
+     * Counts the comparisons and swaps of a slice of the candidates.
+     */
+    private final class Evaluation extends RecursiveAction {
+        private final GapSequence[] sequences;
+        private final MetricsSink[] sinks;
+        private final int from;
+        private final int to;
+        
+        Evaluation(GapSequence[] sequences, MetricsSink[] sinks, int from, int to) {
+            this.sequences = sequences;
+            this.sinks = sinks;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int i = from; i < to; i++) {
+                    sinks[i] = count(sequences[i]);
+                }
+                return;
+            }
+            
+            int mid = (from + to) >>> 1;
+            invokeAll(new Evaluation(sequences, sinks, from, mid),
+                      new Evaluation(sequences, sinks, mid, to));
+        }
+    }
+}
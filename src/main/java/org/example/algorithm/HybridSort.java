@@ -0,0 +1,219 @@
+package org.example.algorithm;
+
+import org.example.perfomancetracker.PerformanceTracker;
+
+import java.util.Random;
+
+/**
+ * Introsort that hands every partition at or below the cutoff to a Shell
+ * sort kernel. The cutoff and the finishing gap sequence are picked by
+ * timing candidates with {@link PerformanceTracker} on this machine.
+ */
+public final class HybridSort {
+    
+    private static final int[] CANDIDATE_CUTOFFS = {8, 12, 16, 24, 32, 48, 64, 96, 128, 192, 256};
+    private static final GapSequence[] CANDIDATE_SEQUENCES = {
+        GapSequence.KNUTH, GapSequence.SEDGEWICK, GapSequence.TOKUDA, GapSequence.CIURA
+    };
+    private static final int CALIBRATION_SIZE = 1 << 14;
+    private static final int NINTHER_THRESHOLD = 128;
+    
+    private final int cutoff;
+    private final GapSequence sequence;
+    
+    public HybridSort(int cutoff, GapSequence sequence) {
+        if (cutoff < 1) {
+            throw new IllegalArgumentException("Cutoff must be positive: " + cutoff);
+        }
+        this.cutoff = cutoff;
+        this.sequence = sequence;
+    }
+    
+    public static HybridSort calibrate() {
+        return calibrate(5);
+    }
+    
+    public static HybridSort calibrate(int rounds) {
+        Random random = new Random(42);
+        int[] sample = new int[CALIBRATION_SIZE];
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = random.nextInt();
+        }
+        int[] work = new int[sample.length];
+        
+        HybridSort warmup = new HybridSort(CANDIDATE_CUTOFFS[0], GapSequence.KNUTH);
+        for (int round = 0; round < 10; round++) {
+            System.arraycopy(sample, 0, work, 0, sample.length);
+            warmup.sort(work);
+        }
+        
+        // Time the finishers on partition-sized slices first, then the
+        // cutoff with the winning finisher.
+        GapSequence bestSequence = CANDIDATE_SEQUENCES[0];
+        double bestTime = Double.MAX_VALUE;
+        int sliceSize = CANDIDATE_CUTOFFS[CANDIDATE_CUTOFFS.length / 2];
+        for (GapSequence candidate : CANDIDATE_SEQUENCES) {
+            PerformanceTracker tracker = new PerformanceTracker(candidate.name());
+            for (int round = 0; round <= rounds; round++) {
+                System.arraycopy(sample, 0, work, 0, sample.length);
+                long startTime = System.nanoTime();
+                for (int from = 0; from + sliceSize <= work.length; from += sliceSize) {
+                    ShellSort.sortRange(work, from, from + sliceSize, candidate);
+                }
+                long elapsed = System.nanoTime() - startTime;
+                if (round > 0) {
+                    tracker.recordMetrics(sliceSize, elapsed, 0, 0);
+                }
+            }
+            if (tracker.getAverageExecutionTime() < bestTime) {
+                bestTime = tracker.getAverageExecutionTime();
+                bestSequence = candidate;
+            }
+        }
+        
+        int bestCutoff = CANDIDATE_CUTOFFS[0];
+        bestTime = Double.MAX_VALUE;
+        for (int candidate : CANDIDATE_CUTOFFS) {
+            HybridSort hybrid = new HybridSort(candidate, bestSequence);
+            PerformanceTracker tracker = new PerformanceTracker("Hybrid cutoff=" + candidate);
+            for (int round = 0; round <= rounds; round++) {
+                System.arraycopy(sample, 0, work, 0, sample.length);
+                long startTime = System.nanoTime();
+                hybrid.sort(work);
+                long elapsed = System.nanoTime() - startTime;
+                if (round > 0) {
+                    tracker.recordMetrics(CALIBRATION_SIZE, elapsed, 0, 0);
+                }
+            }
+            if (tracker.getAverageExecutionTime() < bestTime) {
+                bestTime = tracker.getAverageExecutionTime();
+                bestCutoff = candidate;
+            }
+        }
+        
+        return new HybridSort(bestCutoff, bestSequence);
+    }
+    
+    public int cutoff() {
+        return cutoff;
+    }
+    
+    public GapSequence sequence() {
+        return sequence;
+    }
+    
+    public void sort(int[] arr) {
+        sortRange(arr, 0, arr.length);
+    }
+    
+    public void sort(int[] arr, int fromIndex, int toIndex) {
+        ShellSort.rangeCheck(arr.length, fromIndex, toIndex);
+        sortRange(arr, fromIndex, toIndex);
+    }
+    
+    void sortRange(int[] arr, int fromIndex, int toIndex) {
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(toIndex - fromIndex, 1)));
+        introSort(arr, fromIndex, toIndex, depthLimit);
+    }
+    
+    private void introSort(int[] arr, int low, int high, int depthLimit) {
+        while (high - low > cutoff) {
+            if (depthLimit-- == 0) {
+                heapSort(arr, low, high);
+                return;
+            }
+            
+            int split = partition(arr, low, high);
+            if (split - low < high - split) {
+                introSort(arr, low, split, depthLimit);
+                low = split;
+            } else {
+                introSort(arr, split, high, depthLimit);
+                high = split;
+            }
+        }
+        ShellSort.sortRange(arr, low, high, sequence);
+    }
+    
+    /**
+     * Hoare partition around the median of the first, middle and last
+     * elements, or for large ranges Tukey's ninther: the median of three
+     * medians of three, each moved to those positions first. Returns a split
+     * point with both sides non-empty.
+     */
+    private static int partition(int[] arr, int low, int high) {
+        int last = high - 1;
+        int mid = (low + last) >>> 1;
+        if (high - low >= NINTHER_THRESHOLD) {
+            // Median of 3 alone keeps picking the ends of organ-pipe input
+            int step = (high - low) >>> 3;
+            swap(arr, low, medianOf3(arr, low, low + step, low + 2 * step));
+            swap(arr, mid, medianOf3(arr, mid - step, mid, mid + step));
+            swap(arr, last, medianOf3(arr, last - 2 * step, last - step, last));
+        }
+        if (arr[mid] < arr[low]) swap(arr, mid, low);
+        if (arr[last] < arr[low]) swap(arr, last, low);
+        if (arr[last] < arr[mid]) swap(arr, last, mid);
+        int pivot = arr[mid];
+        
+        int i = low - 1;
+        int j = high;
+        while (true) {
+            do {
+                i++;
+            } while (arr[i] < pivot);
+            do {
+                j--;
+            } while (arr[j] > pivot);
+            if (i >= j) {
+                return j + 1;
+            }
+            swap(arr, i, j);
+        }
+    }
+    
+    private static int medianOf3(int[] arr, int a, int b, int c) {
+        if (arr[a] < arr[b]) {
+            return arr[b] < arr[c] ? b : arr[a] < arr[c] ? c : a;
+        }
+        return arr[a] < arr[c] ? a : arr[b] < arr[c] ? c : b;
+    }
+    
+    private static void heapSort(int[] arr, int low, int high) {
+        int n = high - low;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, low, i, n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            swap(arr, low, low + end);
+            siftDown(arr, low, 0, end);
+        }
+    }
+    
+    private static void siftDown(int[] arr, int offset, int root, int n) {
+        int value = arr[offset + root];
+        int child;
+        while ((child = 2 * root + 1) < n) {
+            if (child + 1 < n && arr[offset + child + 1] > arr[offset + child]) {
+                child++;
+            }
+            if (arr[offset + child] <= value) {
+                break;
+            }
+            arr[offset + root] = arr[offset + child];
+            root = child;
+        }
+        arr[offset + root] = value;
+    }
+    
+    private static void swap(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+    
+    @Override
+    public String toString() {
+        return "Hybrid(cutoff=" + cutoff + ", " + sequence.name() + ")";
+    }
+}
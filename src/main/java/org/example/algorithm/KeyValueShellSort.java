@@ -0,0 +1,83 @@
+package org.example.algorithm;
+
+/**
+ * Shell sort of an {@code int[]} key column that carries a parallel payload
+ * column along in the same h-insertion passes, so the payload is never
+ * gathered through a permutation afterwards. Comparisons only read the
+ * keys. A 32-bit payload is packed next to its key in one {@code long}
+ * instead, which turns the pair into a single plain sort; its sign bit is
+ * flipped in the low half so that ties order by signed value.
+ */
+final class KeyValueShellSort {
+    
+    private static final long PAYLOAD_MASK = 0xFFFFFFFFL;
+    private static final int SIGN_FLIP = Integer.MIN_VALUE;
+    
+    private KeyValueShellSort() {
+    }
+    
+    static void sort(int[] keys, int[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        int n = toIndex - fromIndex;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = (long) keys[fromIndex + i] << 32 | (values[fromIndex + i] ^ SIGN_FLIP) & PAYLOAD_MASK;
+        }
+        
+        LongKernels.sortTable(packed, 0, n, sequence.gaps, sequence.startIndex(n));
+        
+        for (int i = 0; i < n; i++) {
+            keys[fromIndex + i] = (int) (packed[i] >> 32);
+            values[fromIndex + i] = (int) packed[i] ^ SIGN_FLIP;
+        }
+    }
+    
+    static void sort(int[] keys, long[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        int[] gaps = sequence.gaps;
+        
+        for (int k = sequence.startIndex(toIndex - fromIndex); k >= 0; k--) {
+            int gap = gaps[k];
+            int first = fromIndex + gap;
+            
+            for (int i = first; i < toIndex; i++) {
+                int temp = keys[i];
+                if (keys[i - gap] <= temp) {
+                    continue;
+                }
+                long value = values[i];
+                int j = i;
+                do {
+                    keys[j] = keys[j - gap];
+                    values[j] = values[j - gap];
+                    j -= gap;
+                } while (j >= first && keys[j - gap] > temp);
+                keys[j] = temp;
+                values[j] = value;
+            }
+        }
+    }
+    
+    static void sort(int[] keys, Object[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        int[] gaps = sequence.gaps;
+        
+        for (int k = sequence.startIndex(toIndex - fromIndex); k >= 0; k--) {
+            int gap = gaps[k];
+            int first = fromIndex + gap;
+            
+            for (int i = first; i < toIndex; i++) {
+                int temp = keys[i];
+                if (keys[i - gap] <= temp) {
+                    continue;
+                }
+                Object value = values[i];
+                int j = i;
+                do {
+                    keys[j] = keys[j - gap];
+                    values[j] = values[j - gap];
+                    j -= gap;
+                } while (j >= first && keys[j - gap] > temp);
+                keys[j] = temp;
+                values[j] = value;
+            }
+        }
+    }
+}
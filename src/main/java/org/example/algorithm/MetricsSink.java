@@ -0,0 +1,76 @@
+package org.example.algorithm;
+
+/**
+ * Reusable accumulator for the metrics kernels. Every sort adds its counts to
+ * the sink instead of allocating a {@link ShellSort.PerformanceResult}, so one
+ * sink can collect millions of instrumented sorts without creating garbage.
+ *
+ * <p>A sink is not thread-safe; give each thread its own and combine them
+ * with {@link #add(MetricsSink)}.
+ */
+public final class MetricsSink {
+    
+    private long sorts;
+    private long elements;
+    private long executionTime;
+    private long comparisons;
+    private long swaps;
+    
+    public void record(int arraySize, long executionTime, long comparisons, long swaps) {
+        this.sorts++;
+        this.elements += arraySize;
+        this.executionTime += executionTime;
+        this.comparisons += comparisons;
+        this.swaps += swaps;
+    }
+    
+    public void add(MetricsSink other) {
+        this.sorts += other.sorts;
+        this.elements += other.elements;
+        this.executionTime += other.executionTime;
+        this.comparisons += other.comparisons;
+        this.swaps += other.swaps;
+    }
+    
+    public void reset() {
+        sorts = 0;
+        elements = 0;
+        executionTime = 0;
+        comparisons = 0;
+        swaps = 0;
+    }
+    
+    public long sorts() {
+        return sorts;
+    }
+    
+    public long elements() {
+        return elements;
+    }
+    
+    public long executionTime() {
+        return executionTime;
+    }
+    
+    public long comparisons() {
+        return comparisons;
+    }
+    
+    public long swaps() {
+        return swaps;
+    }
+    
+    public double averageExecutionTime() {
+        return sorts == 0 ? 0 : (double) executionTime / sorts;
+    }
+    
+    ShellSort.PerformanceResult toResult() {
+        return new ShellSort.PerformanceResult(executionTime, comparisons, swaps);
+    }
+    
+    @Override
+    public String toString() {
+        return "MetricsSink(sorts=" + sorts + ", elements=" + elements + ", executionTime=" + executionTime
+            + "ns, comparisons=" + comparisons + ", swaps=" + swaps + ")";
+    }
+}
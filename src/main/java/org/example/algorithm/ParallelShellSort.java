@@ -0,0 +1,142 @@
+package org.example.algorithm;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs each h-pass of a Shell sort over the h independent chains in parallel.
+ * Passes whose gap is too small to give every worker its own block of chains
+ * run sequentially.
+ */
+final class ParallelShellSort {
+    
+    static final int DEFAULT_THRESHOLD = 1 << 16;
+    
+    // Neighbouring tasks write neighbouring columns, so keep blocks wide enough
+    // that they rarely share a cache line.
+    private static final int MIN_CHAINS_PER_TASK = 256;
+    
+    private ParallelShellSort() {
+    }
+    
+    static void sort(int[] arr, int fromIndex, int toIndex, GapSequence sequence, int parallelThreshold, ForkJoinPool pool) {
+        int n = toIndex - fromIndex;
+        if (n < parallelThreshold || pool.getParallelism() < 2) {
+            ShellSort.sortRange(arr, fromIndex, toIndex, sequence);
+            return;
+        }
+        
+        int[] gaps = sequence.gaps;
+        int minParallelGap = 2 * MIN_CHAINS_PER_TASK;
+        
+        for (int k = sequence.startIndex(n); k >= 0; k--) {
+            int gap = gaps[k];
+            
+            if (gap >= minParallelGap) {
+                int chainsPerTask = Math.max(MIN_CHAINS_PER_TASK, gap / (4 * pool.getParallelism()));
+                pool.invoke(new ChainPass(arr, null, toIndex, gap, fromIndex, fromIndex + gap, chainsPerTask));
+            } else {
+                pass(arr, toIndex, gap, fromIndex, fromIndex + gap);
+            }
+        }
+    }
+    
+    static void sort(long[] arr, int fromIndex, int toIndex, GapSequence sequence, int parallelThreshold, ForkJoinPool pool) {
+        int n = toIndex - fromIndex;
+        if (n < parallelThreshold || pool.getParallelism() < 2) {
+            LongKernels.sortTable(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(n));
+            return;
+        }
+        
+        int[] gaps = sequence.gaps;
+        int minParallelGap = 2 * MIN_CHAINS_PER_TASK;
+        
+        for (int k = sequence.startIndex(n); k >= 0; k--) {
+            int gap = gaps[k];
+            
+            if (gap >= minParallelGap) {
+                int chainsPerTask = Math.max(MIN_CHAINS_PER_TASK, gap / (4 * pool.getParallelism()));
+                pool.invoke(new ChainPass(null, arr, toIndex, gap, fromIndex, fromIndex + gap, chainsPerTask));
+            } else {
+                pass(arr, toIndex, gap, fromIndex, fromIndex + gap);
+            }
+        }
+    }
+    
+    /**
+     * Inserts every element of the chains starting at {@code firstChain .. lastChain - 1},
+     * walking the array row by row so the block streams through memory. The
+     * first row of chains is the start of the range being sorted.
+     */
+    static void pass(int[] arr, int toIndex, int gap, int firstChain, int lastChain) {
+        int width = lastChain - firstChain;
+        int first = firstChain + gap;
+        
+        for (int row = first; row < toIndex; row += gap) {
+            int end = Math.min(row + width, toIndex);
+            for (int i = row; i < end; i++) {
+                int temp = arr[i];
+                int j;
+                for (j = i; j >= first && arr[j - gap] > temp; j -= gap) {
+                    arr[j] = arr[j - gap];
+                }
+                arr[j] = temp;
+            }
+        }
+    }
+    
+    static void pass(long[] arr, int toIndex, int gap, int firstChain, int lastChain) {
+        int width = lastChain - firstChain;
+        int first = firstChain + gap;
+        
+        for (int row = first; row < toIndex; row += gap) {
+            int end = Math.min(row + width, toIndex);
+            for (int i = row; i < end; i++) {
+                long temp = arr[i];
+                int j;
+                for (j = i; j >= first && arr[j - gap] > temp; j -= gap) {
+                    arr[j] = arr[j - gap];
+                }
+                arr[j] = temp;
+            }
+        }
+    }
+    
+    // Exactly one of ints and longs is set
+    private static final class ChainPass extends RecursiveAction {
+        private final int[] ints;
+        private final long[] longs;
+        private final int toIndex;
+        private final int gap;
+        private final int firstChain;
+        private final int lastChain;
+        private final int chainsPerTask;
+        
+        ChainPass(int[] ints, long[] longs, int toIndex, int gap, int firstChain, int lastChain, int chainsPerTask) {
+            this.ints = ints;
+            this.longs = longs;
+            this.toIndex = toIndex;
+            this.gap = gap;
+            this.firstChain = firstChain;
+            this.lastChain = lastChain;
+            this.chainsPerTask = chainsPerTask;
+        }
+        
+        @Override
+        protected void compute() {
+            int width = lastChain - firstChain;
+            if (width <= chainsPerTask) {
+                if (ints != null) {
+                    pass(ints, toIndex, gap, firstChain, lastChain);
+                } else {
+                    pass(longs, toIndex, gap, firstChain, lastChain);
+                }
+                return;
+            }
+            
+            int mid = firstChain + width / 2;
+            invokeAll(new ChainPass(ints, longs, toIndex, gap, firstChain, mid, chainsPerTask),
+                      new ChainPass(ints, longs, toIndex, gap, mid, lastChain, chainsPerTask));
+        }
+    }
+}
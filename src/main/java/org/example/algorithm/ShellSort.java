@@ -1,115 +1,793 @@
 package org.example.algorithm;
 
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToIntFunction;
+
 public class ShellSort {
     
     public static void shellSortOriginal(int[] arr) {
-        int n = arr.length;
-        
-        for (int gap = n / 2; gap > 0; gap /= 2) {
-            for (int i = gap; i < n; i++) {
-                int temp = arr[i];
-                int j;
-                for (j = i; j >= gap && arr[j - gap] > temp; j -= gap) {
-                    arr[j] = arr[j - gap];
-                }
-                arr[j] = temp;
-            }
-        }
+        shellSortOriginal(arr, 0, arr.length);
+    }
+    
+    public static void shellSortOriginal(int[] arr, int fromIndex, int toIndex) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        IntKernels.sortHalving(arr, fromIndex, toIndex);
     }
     
     public static PerformanceResult shellSortOriginalWithMetrics(int[] arr) {
-        int n = arr.length;
-        long comparisons = 0;
-        long swaps = 0;
-        long startTime = System.nanoTime();
-        
-        for (int gap = n / 2; gap > 0; gap /= 2) {
-            for (int i = gap; i < n; i++) {
-                int temp = arr[i];
-                int j;
-                for (j = i; j >= gap; j -= gap) {
-                    comparisons++;
-                    if (arr[j - gap] > temp) {
-                        arr[j] = arr[j - gap];
-                        swaps++;
-                    } else {
-                        break;
-                    }
-                }
-                arr[j] = temp;
-            }
-        }
-        
-        long endTime = System.nanoTime();
-        return new PerformanceResult(endTime - startTime, comparisons, swaps);
+        return shellSortOriginalWithMetrics(arr, 0, arr.length);
+    }
+    
+    public static PerformanceResult shellSortOriginalWithMetrics(int[] arr, int fromIndex, int toIndex) {
+        MetricsSink sink = new MetricsSink();
+        shellSortOriginalWithMetrics(arr, fromIndex, toIndex, sink);
+        return sink.toResult();
+    }
+    
+    public static void shellSortOriginalWithMetrics(int[] arr, MetricsSink sink) {
+        shellSortOriginalWithMetrics(arr, 0, arr.length, sink);
+    }
+    
+    public static void shellSortOriginalWithMetrics(int[] arr, int fromIndex, int toIndex, MetricsSink sink) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        IntKernels.sortHalvingWithMetrics(arr, fromIndex, toIndex, sink);
     }
     
     public static void shellSortKnuth(int[] arr) {
-        int n = arr.length;
-        int gap = 1;
-        
-        while (gap < n / 3) {
-            gap = 3 * gap + 1;
+        shellSortKnuth(arr, 0, arr.length);
+    }
+    
+    public static void shellSortKnuth(int[] arr, int fromIndex, int toIndex) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        IntKernels.sortKnuth(arr, fromIndex, toIndex);
+    }
+    
+    public static PerformanceResult shellSortKnuthWithMetrics(int[] arr) {
+        return shellSortKnuthWithMetrics(arr, 0, arr.length);
+    }
+    
+    public static PerformanceResult shellSortKnuthWithMetrics(int[] arr, int fromIndex, int toIndex) {
+        MetricsSink sink = new MetricsSink();
+        shellSortKnuthWithMetrics(arr, fromIndex, toIndex, sink);
+        return sink.toResult();
+    }
+    
+    public static void shellSortKnuthWithMetrics(int[] arr, MetricsSink sink) {
+        shellSortKnuthWithMetrics(arr, 0, arr.length, sink);
+    }
+    
+    public static void shellSortKnuthWithMetrics(int[] arr, int fromIndex, int toIndex, MetricsSink sink) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        IntKernels.sortKnuthWithMetrics(arr, fromIndex, toIndex, sink);
+    }
+    
+    public static void shellSortKnuthUnguarded(int[] arr) {
+        shellSortKnuthUnguarded(arr, 0, arr.length);
+    }
+    
+    public static void shellSortKnuthUnguarded(int[] arr, int fromIndex, int toIndex) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        IntKernels.sortKnuthUnguarded(arr, fromIndex, toIndex);
+    }
+    
+    public static void shellSortBlockParallel(int[] arr) {
+        shellSortBlockParallel(arr, GapSequence.KNUTH);
+    }
+    
+    public static void shellSortBlockParallel(int[] arr, GapSequence sequence) {
+        BlockParallelShellSort.sort(arr, 0, arr.length, sequence, null, ForkJoinPool.commonPool());
+    }
+    
+    public static void shellSortBlockParallel(int[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        BlockParallelShellSort.sort(arr, fromIndex, toIndex, sequence, null, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts the range with merge levels that work in {@code scratch}, which
+     * must hold at least {@code toIndex - fromIndex} elements, so repeated
+     * calls can share one buffer instead of allocating their own.
+     */
+    public static void shellSortBlockParallel(int[] arr, int fromIndex, int toIndex, GapSequence sequence, int[] scratch) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        if (scratch.length < toIndex - fromIndex) {
+            throw new IllegalArgumentException("Scratch buffer too small: " + scratch.length + " < " + (toIndex - fromIndex));
         }
-        
-        while (gap >= 1) {
-            for (int i = gap; i < n; i++) {
-                int temp = arr[i];
-                int j;
-                for (j = i; j >= gap && arr[j - gap] > temp; j -= gap) {
-                    arr[j] = arr[j - gap];
-                }
-                arr[j] = temp;
-            }
-            gap = (gap - 1) / 3;
+        BlockParallelShellSort.sort(arr, fromIndex, toIndex, sequence, scratch, ForkJoinPool.commonPool());
+    }
+    
+    public static void hybridSort(int[] arr) {
+        HybridHolder.DEFAULT.sortRange(arr, 0, arr.length);
+    }
+    
+    public static void hybridSort(int[] arr, int fromIndex, int toIndex) {
+        HybridHolder.DEFAULT.sort(arr, fromIndex, toIndex);
+    }
+    
+    public static void shellSortSedgewick(int[] arr) {
+        sort(arr, GapSequence.SEDGEWICK);
+    }
+    
+    public static void shellSortSedgewick(int[] arr, int fromIndex, int toIndex) {
+        sort(arr, fromIndex, toIndex, GapSequence.SEDGEWICK);
+    }
+    
+    public static PerformanceResult shellSortSedgewickWithMetrics(int[] arr) {
+        return sortWithMetrics(arr, GapSequence.SEDGEWICK);
+    }
+    
+    public static PerformanceResult shellSortSedgewickWithMetrics(int[] arr, int fromIndex, int toIndex) {
+        return sortWithMetrics(arr, fromIndex, toIndex, GapSequence.SEDGEWICK);
+    }
+    
+    public static void shellSortSedgewickWithMetrics(int[] arr, MetricsSink sink) {
+        sortWithMetrics(arr, GapSequence.SEDGEWICK, sink);
+    }
+    
+    public static void shellSortSedgewickWithMetrics(int[] arr, int fromIndex, int toIndex, MetricsSink sink) {
+        sortWithMetrics(arr, fromIndex, toIndex, GapSequence.SEDGEWICK, sink);
+    }
+    
+    public static void sort(int[] arr, GapSequence sequence) {
+        sortRange(arr, 0, arr.length, sequence);
+    }
+    
+    public static void sort(int[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRange(arr, fromIndex, toIndex, sequence);
+    }
+    
+    /**
+     * Sorts with {@link GapSequence#tuned()}: the table written by the
+     * {@code tune} command when {@code -Dshellsort.gaps=<file>} is set,
+     * Ciura's otherwise.
+     */
+    public static void sortTuned(int[] arr) {
+        sortRange(arr, 0, arr.length, GapSequence.tuned());
+    }
+    
+    public static void sortTuned(int[] arr, int fromIndex, int toIndex) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRange(arr, fromIndex, toIndex, GapSequence.tuned());
+    }
+    
+    static void sortRange(int[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        IntKernels.sortTable(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    public static void parallelSort(int[] arr, GapSequence sequence) {
+        parallelSort(arr, sequence, ParallelShellSort.DEFAULT_THRESHOLD);
+    }
+    
+    public static void parallelSort(int[] arr, GapSequence sequence, int parallelThreshold) {
+        ParallelShellSort.sort(arr, 0, arr.length, sequence, parallelThreshold, ForkJoinPool.commonPool());
+    }
+    
+    public static void parallelSort(int[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        ParallelShellSort.sort(arr, fromIndex, toIndex, sequence, ParallelShellSort.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+    
+    public static void cacheBlockedSort(int[] arr, GapSequence sequence) {
+        cacheBlockedSort(arr, sequence, CacheBlockedShellSort.DEFAULT_TILE_BYTES);
+    }
+    
+    /**
+     * Sorts like {@link #sort(int[], GapSequence)} but works through the
+     * large-gap passes one cache-sized tile of chains at a time. Worth it once
+     * the array is well beyond the last-level cache; {@code tileBytes} is
+     * best set to about the per-core L2 size.
+     */
+    public static void cacheBlockedSort(int[] arr, GapSequence sequence, int tileBytes) {
+        if (tileBytes < 1) {
+            throw new IllegalArgumentException("Tile size must be positive: " + tileBytes);
         }
+        CacheBlockedShellSort.sort(arr, 0, arr.length, sequence, tileBytes);
     }
     
-    public static PerformanceResult shellSortKnuthWithMetrics(int[] arr) {
-        int n = arr.length;
-        long comparisons = 0;
-        long swaps = 0;
-        long startTime = System.nanoTime();
-        int gap = 1;
-        
-        while (gap < n / 3) {
-            gap = 3 * gap + 1;
+    /**
+     * Sorts with the Vector API kernels when the JVM runs with
+     * {@code --add-modules jdk.incubator.vector} on hardware with wide
+     * enough vectors, and with {@link #sort(int[], GapSequence)} otherwise.
+     */
+    public static void vectorSort(int[] arr, GapSequence sequence) {
+        vectorSortRange(arr, 0, arr.length, sequence);
+    }
+    
+    public static void vectorSort(int[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        vectorSortRange(arr, fromIndex, toIndex, sequence);
+    }
+    
+    public static boolean isVectorized() {
+        return SimdEngine.SORTER != null;
+    }
+    
+    static void vectorSortRange(int[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        if (SimdEngine.SORTER != null) {
+            SimdEngine.SORTER.sort(arr, fromIndex, toIndex, sequence);
+        } else {
+            sortRange(arr, fromIndex, toIndex, sequence);
         }
-        
-        while (gap >= 1) {
-            for (int i = gap; i < n; i++) {
-                int temp = arr[i];
-                int j;
-                for (j = i; j >= gap; j -= gap) {
-                    comparisons++;
-                    if (arr[j - gap] > temp) {
-                        arr[j] = arr[j - gap];
-                        swaps++;
-                    } else {
-                        break;
-                    }
-                }
-                arr[j] = temp;
-            }
-            gap = (gap - 1) / 3;
+    }
+    
+    /**
+     * Sorts every row on its own. Meant for many short rows: rows of up to 16
+     * elements use sorting networks, and large batches are spread over the
+     * common ForkJoinPool.
+     */
+    public static void sortRows(int[][] rows) {
+        BatchShellSort.sortRows(rows, BatchShellSort.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts each run of {@code stride} consecutive elements on its own, as
+     * {@link #sortRows} does for rows. A shorter last segment is sorted too.
+     */
+    public static void sortSegments(int[] flat, int stride) {
+        if (stride < 1) {
+            throw new IllegalArgumentException("Stride must be positive: " + stride);
         }
+        BatchShellSort.sortSegments(flat, stride, BatchShellSort.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Returns the indices of {@code keys} in ascending key order, leaving
+     * {@code keys} untouched. Equal keys keep their original order.
+     */
+    public static int[] argsort(int[] keys) {
+        int[] indices = new int[keys.length];
+        ArgShellSort.argsort(keys, 0, keys.length, indices, GapSequence.CIURA, Integer.MAX_VALUE, ForkJoinPool.commonPool());
+        return indices;
+    }
+    
+    /**
+     * Sorted order of {@code keys[fromIndex .. toIndex - 1]}. The returned
+     * indices point into {@code keys}, so they start at {@code fromIndex}.
+     */
+    public static int[] argsort(int[] keys, int fromIndex, int toIndex) {
+        rangeCheck(keys.length, fromIndex, toIndex);
+        int[] indices = new int[toIndex - fromIndex];
+        ArgShellSort.argsort(keys, fromIndex, toIndex, indices, GapSequence.CIURA, Integer.MAX_VALUE, ForkJoinPool.commonPool());
+        return indices;
+    }
+    
+    /**
+     * Writes the sorted order of {@code keys[fromIndex .. toIndex - 1]} to the
+     * start of {@code indices}, which must hold at least {@code toIndex - fromIndex}
+     * elements.
+     */
+    public static void argsort(int[] keys, int fromIndex, int toIndex, int[] indices) {
+        rangeCheck(keys.length, fromIndex, toIndex);
+        argsortBufferCheck(indices, toIndex - fromIndex);
+        ArgShellSort.argsort(keys, fromIndex, toIndex, indices, GapSequence.CIURA, Integer.MAX_VALUE, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Same as {@link #argsort(int[])}, with the large-gap passes of big inputs
+     * spread over the common ForkJoinPool.
+     */
+    public static int[] parallelArgsort(int[] keys) {
+        int[] indices = new int[keys.length];
+        ArgShellSort.argsort(keys, 0, keys.length, indices, GapSequence.CIURA, ParallelShellSort.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+        return indices;
+    }
+    
+    public static void parallelArgsort(int[] keys, int fromIndex, int toIndex, int[] indices) {
+        rangeCheck(keys.length, fromIndex, toIndex);
+        argsortBufferCheck(indices, toIndex - fromIndex);
+        ArgShellSort.argsort(keys, fromIndex, toIndex, indices, GapSequence.CIURA, ParallelShellSort.DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Sorts {@code keys} and moves {@code values[i]} along with {@code keys[i]}.
+     * The pairs are packed into longs, so equal keys end up ordered by value.
+     */
+    public static void sortByKey(int[] keys, int[] values, GapSequence sequence) {
+        lengthCheck(keys.length, values.length);
+        KeyValueShellSort.sort(keys, values, 0, keys.length, sequence);
+    }
+    
+    public static void sortByKey(int[] keys, int[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(keys.length, fromIndex, toIndex);
+        rangeCheck(values.length, fromIndex, toIndex);
+        KeyValueShellSort.sort(keys, values, fromIndex, toIndex, sequence);
+    }
+    
+    /**
+     * Sorts {@code keys} and moves {@code values[i]} along with {@code keys[i]}
+     * in the same passes.
+     */
+    public static void sortByKey(int[] keys, long[] values, GapSequence sequence) {
+        lengthCheck(keys.length, values.length);
+        KeyValueShellSort.sort(keys, values, 0, keys.length, sequence);
+    }
+    
+    public static void sortByKey(int[] keys, long[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(keys.length, fromIndex, toIndex);
+        rangeCheck(values.length, fromIndex, toIndex);
+        KeyValueShellSort.sort(keys, values, fromIndex, toIndex, sequence);
+    }
+    
+    public static void sortByKey(int[] keys, Object[] values, GapSequence sequence) {
+        lengthCheck(keys.length, values.length);
+        KeyValueShellSort.sort(keys, values, 0, keys.length, sequence);
+    }
+    
+    public static void sortByKey(int[] keys, Object[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(keys.length, fromIndex, toIndex);
+        rangeCheck(values.length, fromIndex, toIndex);
+        KeyValueShellSort.sort(keys, values, fromIndex, toIndex, sequence);
+    }
+    
+    /**
+     * Like {@link #sortByKey(int[], int[], GapSequence)}, but equal keys keep
+     * their payloads in the original order. Uses one {@code long} of scratch
+     * per element.
+     */
+    public static void stableSortByKey(int[] keys, int[] values, GapSequence sequence) {
+        lengthCheck(keys.length, values.length);
+        StableShellSort.sort(keys, values, 0, keys.length, sequence);
+    }
+    
+    public static void stableSortByKey(int[] keys, int[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(keys.length, fromIndex, toIndex);
+        rangeCheck(values.length, fromIndex, toIndex);
+        StableShellSort.sort(keys, values, fromIndex, toIndex, sequence);
+    }
+    
+    public static void stableSortByKey(int[] keys, long[] values, GapSequence sequence) {
+        lengthCheck(keys.length, values.length);
+        StableShellSort.sort(keys, values, 0, keys.length, sequence);
+    }
+    
+    public static void stableSortByKey(int[] keys, long[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(keys.length, fromIndex, toIndex);
+        rangeCheck(values.length, fromIndex, toIndex);
+        StableShellSort.sort(keys, values, fromIndex, toIndex, sequence);
+    }
+    
+    public static void stableSortByKey(int[] keys, Object[] values, GapSequence sequence) {
+        lengthCheck(keys.length, values.length);
+        StableShellSort.sort(keys, values, 0, keys.length, sequence);
+    }
+    
+    public static void stableSortByKey(int[] keys, Object[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(keys.length, fromIndex, toIndex);
+        rangeCheck(values.length, fromIndex, toIndex);
+        StableShellSort.sort(keys, values, fromIndex, toIndex, sequence);
+    }
+    
+    private static void lengthCheck(int keysLength, int valuesLength) {
+        if (keysLength != valuesLength) {
+            throw new IllegalArgumentException("Keys and values differ in length: " + keysLength + " != " + valuesLength);
+        }
+    }
+    
+    private static void argsortBufferCheck(int[] indices, int length) {
+        if (indices.length < length) {
+            throw new IllegalArgumentException("Index buffer too small: " + indices.length + " < " + length);
+        }
+    }
+    
+    public static PerformanceResult sortWithMetrics(int[] arr, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(int[] arr, GapSequence sequence, MetricsSink sink) {
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+    }
+    
+    public static PerformanceResult sortWithMetrics(int[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(int[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRangeWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+    }
+    
+    static void sortRangeWithMetrics(int[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        IntKernels.sortTableWithMetrics(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex), sink);
+    }
+    
+    /**
+     * Same result as {@link #sort(int[], GapSequence)}. Passes only enter the
+     * shift loop for elements that move, and the final gap-1 pass runs
+     * without a bounds check behind a sentinel minimum.
+     */
+    public static void sortUnguarded(int[] arr, GapSequence sequence) {
+        sortUnguarded(arr, 0, arr.length, sequence);
+    }
+    
+    public static void sortUnguarded(int[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        IntKernels.sortTableUnguarded(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    public static void sort(long[] arr, GapSequence sequence) {
+        sortRange(arr, 0, arr.length, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(long[] arr, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(long[] arr, GapSequence sequence, MetricsSink sink) {
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+    }
+    
+    public static void sort(long[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRange(arr, fromIndex, toIndex, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(long[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(long[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRangeWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+    }
+    
+    static void sortRange(long[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        LongKernels.sortTable(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    static void sortRangeWithMetrics(long[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        LongKernels.sortTableWithMetrics(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex), sink);
+    }
+    
+    public static void sortUnguarded(long[] arr, GapSequence sequence) {
+        sortUnguarded(arr, 0, arr.length, sequence);
+    }
+    
+    public static void sortUnguarded(long[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        LongKernels.sortTableUnguarded(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    public static void sort(float[] arr, GapSequence sequence) {
+        sortRange(arr, 0, arr.length, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(float[] arr, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(float[] arr, GapSequence sequence, MetricsSink sink) {
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+    }
+    
+    public static void sort(float[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRange(arr, fromIndex, toIndex, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(float[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(float[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRangeWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+    }
+    
+    static void sortRange(float[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        FloatKernels.sortTable(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    static void sortRangeWithMetrics(float[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        FloatKernels.sortTableWithMetrics(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex), sink);
+    }
+    
+    public static void sortUnguarded(float[] arr, GapSequence sequence) {
+        sortUnguarded(arr, 0, arr.length, sequence);
+    }
+    
+    public static void sortUnguarded(float[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        FloatKernels.sortTableUnguarded(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    public static void sort(double[] arr, GapSequence sequence) {
+        sortRange(arr, 0, arr.length, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(double[] arr, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(double[] arr, GapSequence sequence, MetricsSink sink) {
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+    }
+    
+    public static void sort(double[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRange(arr, fromIndex, toIndex, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(double[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(double[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRangeWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+    }
+    
+    static void sortRange(double[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        DoubleKernels.sortTable(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    static void sortRangeWithMetrics(double[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        DoubleKernels.sortTableWithMetrics(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex), sink);
+    }
+    
+    public static void sortUnguarded(double[] arr, GapSequence sequence) {
+        sortUnguarded(arr, 0, arr.length, sequence);
+    }
+    
+    public static void sortUnguarded(double[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        DoubleKernels.sortTableUnguarded(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    public static void sort(short[] arr, GapSequence sequence) {
+        sortRange(arr, 0, arr.length, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(short[] arr, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(short[] arr, GapSequence sequence, MetricsSink sink) {
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+    }
+    
+    public static void sort(short[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRange(arr, fromIndex, toIndex, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(short[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(short[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRangeWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+    }
+    
+    static void sortRange(short[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        ShortKernels.sortTable(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    static void sortRangeWithMetrics(short[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        ShortKernels.sortTableWithMetrics(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex), sink);
+    }
+    
+    public static void sortUnguarded(short[] arr, GapSequence sequence) {
+        sortUnguarded(arr, 0, arr.length, sequence);
+    }
+    
+    public static void sortUnguarded(short[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        ShortKernels.sortTableUnguarded(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    public static void sort(char[] arr, GapSequence sequence) {
+        sortRange(arr, 0, arr.length, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(char[] arr, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(char[] arr, GapSequence sequence, MetricsSink sink) {
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+    }
+    
+    public static void sort(char[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRange(arr, fromIndex, toIndex, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(char[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(char[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRangeWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+    }
+    
+    static void sortRange(char[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        CharKernels.sortTable(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    static void sortRangeWithMetrics(char[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        CharKernels.sortTableWithMetrics(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex), sink);
+    }
+    
+    public static void sortUnguarded(char[] arr, GapSequence sequence) {
+        sortUnguarded(arr, 0, arr.length, sequence);
+    }
+    
+    public static void sortUnguarded(char[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        CharKernels.sortTableUnguarded(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    public static void sort(byte[] arr, GapSequence sequence) {
+        sortRange(arr, 0, arr.length, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(byte[] arr, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(byte[] arr, GapSequence sequence, MetricsSink sink) {
+        sortRangeWithMetrics(arr, 0, arr.length, sequence, sink);
+    }
+    
+    public static void sort(byte[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRange(arr, fromIndex, toIndex, sequence);
+    }
+    
+    public static PerformanceResult sortWithMetrics(byte[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        MetricsSink sink = new MetricsSink();
+        sortWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+        return sink.toResult();
+    }
+    
+    public static void sortWithMetrics(byte[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRangeWithMetrics(arr, fromIndex, toIndex, sequence, sink);
+    }
+    
+    static void sortRange(byte[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        ByteKernels.sortTable(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    static void sortRangeWithMetrics(byte[] arr, int fromIndex, int toIndex, GapSequence sequence, MetricsSink sink) {
+        ByteKernels.sortTableWithMetrics(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex), sink);
+    }
+    
+    public static void sortUnguarded(byte[] arr, GapSequence sequence) {
+        sortUnguarded(arr, 0, arr.length, sequence);
+    }
+    
+    public static void sortUnguarded(byte[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        ByteKernels.sortTableUnguarded(arr, fromIndex, toIndex, sequence.gaps, sequence.startIndex(toIndex - fromIndex));
+    }
+    
+    public static void shellSortSedgewick(IntBuffer buffer) {
+        BufferShellSort.sort(buffer, GapSequence.SEDGEWICK);
+    }
+    
+    /**
+     * Sorts the elements between the buffer's position and limit in place.
+     * Direct and memory-mapped buffers are not copied onto the heap, but
+     * every access to them is bounds-checked, so they sort slower than an
+     * array.
+     */
+    public static void sort(IntBuffer buffer, GapSequence sequence) {
+        BufferShellSort.sort(buffer, sequence);
+    }
+    
+    public static void sort(LongBuffer buffer, GapSequence sequence) {
+        BufferShellSort.sort(buffer, sequence);
+    }
+    
+    public static <T> void sort(T[] arr, Comparator<? super T> comparator) {
+        sortRange(arr, 0, arr.length, comparator, GapSequence.CIURA);
+    }
+    
+    public static <T> void sort(T[] arr, Comparator<? super T> comparator, GapSequence sequence) {
+        sortRange(arr, 0, arr.length, comparator, sequence);
+    }
+    
+    public static <T> void sort(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comparator) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRange(arr, fromIndex, toIndex, comparator, GapSequence.CIURA);
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(List<T> list, Comparator<? super T> comparator) {
+        Object[] arr = list.toArray();
+        sortRange((T[]) arr, 0, arr.length, comparator, GapSequence.CIURA);
         
-        long endTime = System.nanoTime();
-        return new PerformanceResult(endTime - startTime, comparisons, swaps);
+        ListIterator<T> iterator = list.listIterator();
+        for (Object element : arr) {
+            iterator.next();
+            iterator.set((T) element);
+        }
     }
     
-    public static void shellSortSedgewick(int[] arr) {
-        int n = arr.length;
-        int[] gaps = generateSedgewickGaps(n);
+    public static <T> void sortByIntKey(T[] arr, ToIntFunction<? super T> keyExtractor) {
+        sortByIntKey(arr, keyExtractor, GapSequence.CIURA);
+    }
+    
+    public static <T> void sortByIntKey(T[] arr, ToIntFunction<? super T> keyExtractor, GapSequence sequence) {
+        sortRangeByIntKey(arr, 0, arr.length, keyExtractor, sequence);
+    }
+    
+    public static <T> void sortByIntKey(T[] arr, int fromIndex, int toIndex, ToIntFunction<? super T> keyExtractor) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        sortRangeByIntKey(arr, fromIndex, toIndex, keyExtractor, GapSequence.CIURA);
+    }
+    
+    /**
+     * Sorts by the extracted key, keeping elements with equal keys in their
+     * original order. Each key is extracted once.
+     */
+    public static <T> void stableSortByIntKey(T[] arr, ToIntFunction<? super T> keyExtractor) {
+        StableShellSort.sortByIntKey(arr, 0, arr.length, keyExtractor, GapSequence.CIURA);
+    }
+    
+    public static <T> void stableSortByIntKey(T[] arr, ToIntFunction<? super T> keyExtractor, GapSequence sequence) {
+        StableShellSort.sortByIntKey(arr, 0, arr.length, keyExtractor, sequence);
+    }
+    
+    public static <T> void stableSortByIntKey(T[] arr, int fromIndex, int toIndex, ToIntFunction<? super T> keyExtractor) {
+        rangeCheck(arr.length, fromIndex, toIndex);
+        StableShellSort.sortByIntKey(arr, fromIndex, toIndex, keyExtractor, GapSequence.CIURA);
+    }
+    
+    static <T> void sortRangeByIntKey(T[] arr, int fromIndex, int toIndex, ToIntFunction<? super T> keyExtractor, GapSequence sequence) {
+        int[] keys = new int[toIndex - fromIndex];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = keyExtractor.applyAsInt(arr[fromIndex + i]);
+        }
+        sortRangeByKey(keys, arr, fromIndex, sequence);
+    }
+    
+    static <T> void sortRange(T[] arr, int fromIndex, int toIndex, Comparator<? super T> comparator, GapSequence sequence) {
+        int[] gaps = sequence.gaps;
         
-        for (int k = gaps.length - 1; k >= 0; k--) {
+        for (int k = sequence.startIndex(toIndex - fromIndex); k >= 0; k--) {
             int gap = gaps[k];
-            if (gap <= 0) continue;
+            int first = fromIndex + gap;
             
-            for (int i = gap; i < n; i++) {
-                int temp = arr[i];
+            for (int i = first; i < toIndex; i++) {
+                T temp = arr[i];
                 int j;
-                for (j = i; j >= gap && arr[j - gap] > temp; j -= gap) {
+                for (j = i; j >= first && comparator.compare(arr[j - gap], temp) > 0; j -= gap) {
                     arr[j] = arr[j - gap];
                 }
                 arr[j] = temp;
@@ -117,63 +795,40 @@ public class ShellSort {
         }
     }
     
-    public static PerformanceResult shellSortSedgewickWithMetrics(int[] arr) {
-        int n = arr.length;
-        long comparisons = 0;
-        long swaps = 0;
-        long startTime = System.nanoTime();
-        int[] gaps = generateSedgewickGaps(n);
+    /**
+     * Sorts {@code keys} and moves {@code values[valueOffset + i]} along with {@code keys[i]}.
+     */
+    static void sortRangeByKey(int[] keys, Object[] values, int valueOffset, GapSequence sequence) {
+        int[] gaps = sequence.gaps;
+        int n = keys.length;
         
-        for (int k = gaps.length - 1; k >= 0; k--) {
+        for (int k = sequence.startIndex(n); k >= 0; k--) {
             int gap = gaps[k];
-            if (gap <= 0) continue;
             
             for (int i = gap; i < n; i++) {
-                int temp = arr[i];
+                int temp = keys[i];
+                Object value = values[valueOffset + i];
                 int j;
-                for (j = i; j >= gap; j -= gap) {
-                    comparisons++;
-                    if (arr[j - gap] > temp) {
-                        arr[j] = arr[j - gap];
-                        swaps++;
-                    } else {
-                        break;
-                    }
+                for (j = i; j >= gap && keys[j - gap] > temp; j -= gap) {
+                    keys[j] = keys[j - gap];
+                    values[valueOffset + j] = values[valueOffset + j - gap];
                 }
-                arr[j] = temp;
+                keys[j] = temp;
+                values[valueOffset + j] = value;
             }
         }
-        
-        long endTime = System.nanoTime();
-        return new PerformanceResult(endTime - startTime, comparisons, swaps);
     }
     
-    private static int[] generateSedgewickGaps(int n) {
-        java.util.List<Integer> gaps = new java.util.ArrayList<>();
-        int k = 0;
-        
-        while (true) {
-            int gap1 = 9 * (int) Math.pow(4, k) - 9 * (int) Math.pow(2, k) + 1;
-            int gap2 = (int) Math.pow(4, k + 1) - 3 * (int) Math.pow(2, k + 1) + 1;
-            
-            if (gap1 > 0 && gap1 < n) {
-                gaps.add(gap1);
-            }
-            if (gap2 > 0 && gap2 < n && gap2 != gap1) {
-                gaps.add(gap2);
-            }
-            
-            if (gap1 >= n && gap2 >= n) {
-                break;
-            }
-            k++;
+    static void rangeCheck(int arrayLength, int fromIndex, int toIndex) {
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
         }
-        
-        if (gaps.isEmpty()) {
-            gaps.add(1);
+        if (fromIndex < 0) {
+            throw new ArrayIndexOutOfBoundsException(fromIndex);
+        }
+        if (toIndex > arrayLength) {
+            throw new ArrayIndexOutOfBoundsException(toIndex);
         }
-        
-        return gaps.stream().mapToInt(i -> i).toArray();
     }
     
     public static void printArray(int[] arr) {
@@ -192,6 +847,10 @@ public class ShellSort {
         return copy;
     }
     
+    private static class HybridHolder {
+        static final HybridSort DEFAULT = HybridSort.calibrate();
+    }
+    
     public static class PerformanceResult {
         public long executionTime;
         public long comparisons;
@@ -0,0 +1,39 @@
+package org.example.algorithm;
+
+/**
+ * Finds the optional Vector API kernels. They live in {@code VectorShellSort},
+ * which is only built by the {@code vector} Maven profile and only loaded
+ * when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector} and the preferred vector holds at
+ * least four ints; otherwise {@link #SORTER} is null and callers use the
+ * scalar kernels.
+ */
+final class SimdEngine {
+    
+    static final String MODULE = "jdk.incubator.vector";
+    
+    static final Sorter SORTER = load();
+    
+    private SimdEngine() {
+    }
+    
+    interface Sorter {
+        void sort(int[] arr, int fromIndex, int toIndex, GapSequence sequence);
+        
+        int lanes();
+    }
+    
+    private static Sorter load() {
+        if (ModuleLayer.boot().findModule(MODULE).isEmpty()) {
+            return null;
+        }
+        try {
+            Sorter sorter = (Sorter) Class.forName("org.example.algorithm.VectorShellSort")
+                                          .getDeclaredConstructor()
+                                          .newInstance();
+            return sorter.lanes() >= 4 ? sorter : null;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.algorithm;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Stable Shell sort. Every key is packed with its position in the range
+ * into one {@code long}, key in the high half, so equal keys compare by
+ * position and the plain long kernel gives a stable order. The low halves
+ * then say where each element came from, and the payload is moved there
+ * one permutation cycle at a time. The packed array is the only scratch.
+ */
+final class StableShellSort {
+    
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+    
+    private StableShellSort() {
+    }
+    
+    static void sort(int[] keys, int[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        permute(values, fromIndex, sortKeys(keys, fromIndex, toIndex, sequence));
+    }
+    
+    static void sort(int[] keys, long[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        permute(values, fromIndex, sortKeys(keys, fromIndex, toIndex, sequence));
+    }
+    
+    static void sort(int[] keys, Object[] values, int fromIndex, int toIndex, GapSequence sequence) {
+        permute(values, fromIndex, sortKeys(keys, fromIndex, toIndex, sequence));
+    }
+    
+    static <T> void sortByIntKey(T[] arr, int fromIndex, int toIndex, ToIntFunction<? super T> keyExtractor, GapSequence sequence) {
+        int n = toIndex - fromIndex;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = pack(keyExtractor.applyAsInt(arr[fromIndex + i]), i);
+        }
+        
+        LongKernels.sortTable(packed, 0, n, sequence.gaps, sequence.startIndex(n));
+        permute(arr, fromIndex, packed);
+    }
+    
+    /**
+     * Sorts the packed (key, position) pairs of the range, writes the keys
+     * back in order and returns the pairs for the payload to follow.
+     */
+    private static long[] sortKeys(int[] keys, int fromIndex, int toIndex, GapSequence sequence) {
+        int n = toIndex - fromIndex;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = pack(keys[fromIndex + i], i);
+        }
+        
+        LongKernels.sortTable(packed, 0, n, sequence.gaps, sequence.startIndex(n));
+        
+        for (int i = 0; i < n; i++) {
+            keys[fromIndex + i] = (int) (packed[i] >> 32);
+        }
+        return packed;
+    }
+    
+    /**
+     * Moves {@code values[offset + source]} to {@code values[offset + i]},
+     * where {@code source} is the low half of {@code packed[i]}. Finished
+     * slots are marked by storing their own index, so every element is
+     * moved once.
+     */
+    private static void permute(Object[] values, int offset, long[] packed) {
+        int n = packed.length;
+        
+        for (int i = 0; i < n; i++) {
+            int source = (int) packed[i];
+            if (source == i) {
+                continue;
+            }
+            Object temp = values[offset + i];
+            int j = i;
+            while (source != i) {
+                values[offset + j] = values[offset + source];
+                packed[j] = j;
+                j = source;
+                source = (int) packed[j];
+            }
+            values[offset + j] = temp;
+            packed[j] = j;
+        }
+    }
+    
+    private static void permute(int[] values, int offset, long[] packed) {
+        int n = packed.length;
+        
+        for (int i = 0; i < n; i++) {
+            int source = (int) packed[i];
+            if (source == i) {
+                continue;
+            }
+            int temp = values[offset + i];
+            int j = i;
+            while (source != i) {
+                values[offset + j] = values[offset + source];
+                packed[j] = j;
+                j = source;
+                source = (int) packed[j];
+            }
+            values[offset + j] = temp;
+            packed[j] = j;
+        }
+    }
+    
+    private static void permute(long[] values, int offset, long[] packed) {
+        int n = packed.length;
+        
+        for (int i = 0; i < n; i++) {
+            int source = (int) packed[i];
+            if (source == i) {
+                continue;
+            }
+            long temp = values[offset + i];
+            int j = i;
+            while (source != i) {
+                values[offset + j] = values[offset + source];
+                packed[j] = j;
+                j = source;
+                source = (int) packed[j];
+            }
+            values[offset + j] = temp;
+            packed[j] = j;
+        }
+    }
+    
+    private static long pack(int key, int index) {
+        return (long) key << 32 | index & INDEX_MASK;
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.algorithm;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shell sort on {@code IntVector} lanes. Passes whose gap is at least the
+ * lane count insert a whole row of neighbouring chains at once: each lane
+ * shifts its own chain and drops out of the mask when its element lands.
+ * Gaps below the lane count are replaced by a bitonic sort of every
+ * lane-sized block in registers, then one plain insertion pass.
+ *
+ * <p>Only loaded through {@link SimdEngine}, since linking it needs the
+ * incubator module.
+ */
+final class VectorShellSort implements SimdEngine.Sorter {
+    
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    
+    // One partner shuffle and take-the-maximum mask per bitonic stage
+    private static final List<VectorShuffle<Integer>> PARTNERS;
+    private static final List<VectorMask<Integer>> TAKE_MAX;
+    
+    static {
+        List<VectorShuffle<Integer>> partners = new ArrayList<>();
+        List<VectorMask<Integer>> takeMax = new ArrayList<>();
+        
+        for (int size = 2; size <= LANES; size <<= 1) {
+            for (int distance = size >> 1; distance > 0; distance >>= 1) {
+                int d = distance;
+                boolean[] max = new boolean[LANES];
+                for (int lane = 0; lane < LANES; lane++) {
+                    max[lane] = ((lane & distance) != 0) != ((lane & size) != 0);
+                }
+                partners.add(VectorShuffle.fromOp(SPECIES, lane -> lane ^ d));
+                takeMax.add(VectorMask.fromArray(SPECIES, max, 0));
+            }
+        }
+        PARTNERS = List.copyOf(partners);
+        TAKE_MAX = List.copyOf(takeMax);
+    }
+    
+    @Override
+    public int lanes() {
+        return LANES;
+    }
+    
+    @Override
+    public void sort(int[] arr, int fromIndex, int toIndex, GapSequence sequence) {
+        int[] gaps = sequence.gaps;
+        int k = sequence.startIndex(toIndex - fromIndex);
+        for (; k >= 0 && gaps[k] >= LANES; k--) {
+            pass(arr, fromIndex, toIndex, gaps[k]);
+        }
+        if (k >= 0) {
+            sortBlocks(arr, fromIndex, toIndex);
+            // gaps[0] is always 1
+            IntKernels.sortTable(arr, fromIndex, toIndex, gaps, 0);
+        }
+    }
+    
+    /**
+     * One h-insertion pass, row by row. A row's elements belong to different
+     * chains and all sit at the same depth, so the lanes of a vector can stop
+     * at different places but share the bound at the start of the range.
+     */
+    static void pass(int[] arr, int fromIndex, int toIndex, int gap) {
+        int first = fromIndex + gap;
+        
+        for (int row = first; row < toIndex; row += gap) {
+            int rowEnd = Math.min(row + gap, toIndex);
+            int i = row;
+            for (; i + LANES <= rowEnd; i += LANES) {
+                insert(arr, first, i, gap);
+            }
+            for (; i < rowEnd; i++) {
+                int temp = arr[i];
+                int j;
+                for (j = i; j >= first && arr[j - gap] > temp; j -= gap) {
+                    arr[j] = arr[j - gap];
+                }
+                arr[j] = temp;
+            }
+        }
+    }
+    
+    private static void insert(int[] arr, int first, int i, int gap) {
+        IntVector value = IntVector.fromArray(SPECIES, arr, i);
+        IntVector current = value;
+        VectorMask<Integer> active = SPECIES.maskAll(true);
+        int j = i;
+        
+        while (j >= first) {
+            IntVector previous = IntVector.fromArray(SPECIES, arr, j - gap);
+            VectorMask<Integer> moving = active.and(previous.compare(VectorOperators.GT, value));
+            if (!moving.anyTrue()) {
+                break;
+            }
+            // Lanes still moving take the element from above; lanes that stop here take the value
+            current.blend(value, active).blend(previous, moving).intoArray(arr, j);
+            active = moving;
+            j -= gap;
+            current = previous;
+        }
+        if (j != i) {
+            current.blend(value, active).intoArray(arr, j);
+        }
+    }
+    
+    static void sortBlocks(int[] arr, int fromIndex, int toIndex) {
+        for (int block = fromIndex; block + LANES <= toIndex; block += LANES) {
+            IntVector v = IntVector.fromArray(SPECIES, arr, block);
+            for (int stage = 0; stage < PARTNERS.size(); stage++) {
+                IntVector partner = v.rearrange(PARTNERS.get(stage));
+                v = v.min(partner).blend(v.max(partner), TAKE_MAX.get(stage));
+            }
+            v.intoArray(arr, block);
+        }
+    }
+}
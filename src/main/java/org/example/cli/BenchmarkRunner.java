@@ -1,10 +1,23 @@
 package org.example.cli;
 
+import org.example.algorithm.GapSequence;
+import org.example.algorithm.GapTuner;
+import org.example.algorithm.MetricsSink;
 import org.example.algorithm.ShellSort;
-import java.io.FileWriter;
+import org.example.io.BinaryFiles;
+import org.example.io.ElementType;
+import org.example.io.ExternalSort;
+import org.example.io.ResultWriter;
+import org.example.io.TextFiles;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 public class BenchmarkRunner {
     
@@ -23,6 +36,24 @@ public class BenchmarkRunner {
             case "compare":
                 runComparison(args);
                 break;
+            case "jmh":
+                runJmh(args);
+                break;
+            case "jmh-import":
+                importJmh(args);
+                break;
+            case "sort":
+                sortInMemory(args);
+                break;
+            case "sort-file":
+                sortFile(args);
+                break;
+            case "kernels":
+                runKernels(args);
+                break;
+            case "tune":
+                runTuner(args);
+                break;
             case "help":
                 printUsage();
                 break;
@@ -84,9 +115,409 @@ public class BenchmarkRunner {
         runComparisonInternal(sizes, outputFile);
     }
     
+    private static void runJmh(String[] args) {
+        String jar = "benchmarks/target/benchmarks.jar";
+        String jsonFile = "jmh_results.json";
+        String outputFile = "jmh_results.csv";
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        
+        List<String> jmhArgs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--jar=")) {
+                jar = args[i].substring(6);
+            } else if (args[i].startsWith("--json=")) {
+                jsonFile = args[i].substring(7);
+            } else if (args[i].startsWith("--output=")) {
+                outputFile = args[i].substring(9);
+            } else if (args[i].startsWith("--include=")) {
+                jmhArgs.add(args[i].substring(10));
+            } else {
+                jmhArgs.add(args[i]);
+            }
+        }
+        command.add(jar);
+        command.addAll(jmhArgs);
+        command.add("-rf");
+        command.add("json");
+        command.add("-rff");
+        command.add(jsonFile);
+        
+        System.out.println("Running JMH suite: " + String.join(" ", command));
+        
+        try {
+            int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+            if (exitCode != 0) {
+                System.err.println("JMH exited with code " + exitCode);
+                return;
+            }
+            int rows = JmhResults.convertToCsv(Path.of(jsonFile), outputFile);
+            System.out.println("Converted " + rows + " JMH results to " + outputFile);
+        } catch (IOException e) {
+            System.err.println("Error running JMH: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while waiting for JMH");
+        }
+    }
+    
+    private static void importJmh(String[] args) {
+        String jsonFile = "jmh_results.json";
+        String outputFile = "jmh_results.csv";
+        
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--json=")) {
+                jsonFile = args[i].substring(7);
+            } else if (args[i].startsWith("--output=")) {
+                outputFile = args[i].substring(9);
+            }
+        }
+        
+        try {
+            int rows = JmhResults.convertToCsv(Path.of(jsonFile), outputFile);
+            System.out.println("Converted " + rows + " JMH results to " + outputFile);
+        } catch (IOException e) {
+            System.err.println("Error converting JMH results: " + e.getMessage());
+        }
+    }
+    
+    private static void sortInMemory(String[] args) {
+        String inputFile = null;
+        String outputFile = null;
+        ElementType type = ElementType.INT32;
+        boolean text = false;
+        String outputFormat = null;
+        String sequenceName = null;
+        
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--input=")) {
+                inputFile = args[i].substring(8);
+            } else if (args[i].startsWith("--output=")) {
+                outputFile = args[i].substring(9);
+            } else if (args[i].startsWith("--type=")) {
+                type = ElementType.parse(args[i].substring(7));
+            } else if (args[i].startsWith("--format=")) {
+                text = parseTextFormat(args[i].substring(9));
+            } else if (args[i].startsWith("--output-format=")) {
+                outputFormat = args[i].substring(16);
+            } else if (args[i].startsWith("--sequence=")) {
+                sequenceName = args[i].substring(11);
+            }
+        }
+        
+        if (inputFile == null) {
+            System.out.println("sort needs --input=<file>");
+            printUsage();
+            return;
+        }
+        boolean textOutput = outputFormat == null ? text : parseTextFormat(outputFormat);
+        GapSequence sequence = sequenceName == null ? null : GapSequence.byName(sequenceName);
+        
+        try {
+            Path input = Path.of(inputFile);
+            long inputBytes = Files.size(input);
+            int count;
+            long parseTime;
+            long sortTime;
+            long formatTime = 0;
+            
+            if (type == ElementType.INT32) {
+                long startTime = System.nanoTime();
+                int[] values = text ? TextFiles.readInts(input) : BinaryFiles.readInts(input);
+                parseTime = System.nanoTime() - startTime;
+                count = values.length;
+                
+                if (sequence == null) {
+                    // Run the one-off hybrid calibration outside the timed sort
+                    ShellSort.hybridSort(new int[0]);
+                }
+                startTime = System.nanoTime();
+                if (sequence == null) {
+                    ShellSort.hybridSort(values);
+                } else {
+                    ShellSort.sort(values, sequence);
+                }
+                sortTime = System.nanoTime() - startTime;
+                
+                if (outputFile != null) {
+                    startTime = System.nanoTime();
+                    if (textOutput) {
+                        TextFiles.writeInts(Path.of(outputFile), values);
+                    } else {
+                        BinaryFiles.writeInts(Path.of(outputFile), values);
+                    }
+                    formatTime = System.nanoTime() - startTime;
+                }
+            } else {
+                long startTime = System.nanoTime();
+                long[] values = text ? TextFiles.readLongs(input) : BinaryFiles.readLongs(input);
+                parseTime = System.nanoTime() - startTime;
+                count = values.length;
+                
+                startTime = System.nanoTime();
+                ShellSort.sort(values, sequence == null ? GapSequence.CIURA : sequence);
+                sortTime = System.nanoTime() - startTime;
+                
+                if (outputFile != null) {
+                    startTime = System.nanoTime();
+                    if (textOutput) {
+                        TextFiles.writeLongs(Path.of(outputFile), values);
+                    } else {
+                        BinaryFiles.writeLongs(Path.of(outputFile), values);
+                    }
+                    formatTime = System.nanoTime() - startTime;
+                }
+            }
+            
+            System.out.println("Sorted " + count + " " + type + " values from " + inputFile
+                + (sequence == null && type == ElementType.INT32 ? " with the hybrid sort" : ""));
+            System.out.println("Parse:  " + formatTiming(parseTime, inputBytes, count));
+            System.out.println("Sort:   " + formatTiming(sortTime, -1, count));
+            if (outputFile != null) {
+                long outputBytes = Files.size(Path.of(outputFile));
+                System.out.println("Format: " + formatTiming(formatTime, outputBytes, count));
+            }
+        } catch (IOException e) {
+            System.err.println("Error sorting file: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error reading " + inputFile + ": " + e.getMessage());
+        }
+    }
+    
+    private static boolean parseTextFormat(String format) {
+        switch (format.toLowerCase()) {
+            case "text":
+                return true;
+            case "binary":
+                return false;
+            default:
+                throw new IllegalArgumentException("Unknown format: " + format + " (expected binary or text)");
+        }
+    }
+    
+    private static String formatTiming(long nanos, long bytes, int count) {
+        double seconds = nanos / 1e9;
+        String timing = String.format("%.1f ms, %.1f M values/s", nanos / 1e6, count / seconds / 1e6);
+        if (bytes >= 0) {
+            timing += String.format(", %.1f MB/s", bytes / seconds / 1e6);
+        }
+        return timing;
+    }
+    
+    private static void sortFile(String[] args) {
+        String inputFile = null;
+        String outputFile = null;
+        ElementType type = ElementType.INT32;
+        long memoryBudget = ExternalSort.DEFAULT_MEMORY_BUDGET;
+        String tempDirectory = System.getProperty("java.io.tmpdir");
+        int threads = Runtime.getRuntime().availableProcessors();
+        
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--input=")) {
+                inputFile = args[i].substring(8);
+            } else if (args[i].startsWith("--output=")) {
+                outputFile = args[i].substring(9);
+            } else if (args[i].startsWith("--type=")) {
+                type = ElementType.parse(args[i].substring(7));
+            } else if (args[i].startsWith("--memory=")) {
+                memoryBudget = parseBytes(args[i].substring(9));
+            } else if (args[i].startsWith("--temp-dir=")) {
+                tempDirectory = args[i].substring(11);
+            } else if (args[i].startsWith("--threads=")) {
+                threads = Integer.parseInt(args[i].substring(10));
+            }
+        }
+        
+        if (inputFile == null || outputFile == null) {
+            System.out.println("sort-file needs --input=<file> and --output=<file>");
+            printUsage();
+            return;
+        }
+        
+        System.out.println("Sorting " + inputFile + " (" + type + ") into " + outputFile);
+        System.out.println("Memory budget: " + memoryBudget + " bytes, threads: " + threads + ", temp dir: " + tempDirectory);
+        
+        try {
+            ExternalSort sorter = new ExternalSort(type, memoryBudget, Path.of(tempDirectory), threads);
+            ExternalSort.Result result = sorter.sort(Path.of(inputFile), Path.of(outputFile));
+            System.out.println("Sorted " + result.elements + " values in " + result.runs + " runs");
+            System.out.println("Run generation: " + result.runGenerationTime / 1_000_000 + " ms");
+            System.out.println("Merge: " + result.mergeTime / 1_000_000 + " ms");
+        } catch (IOException e) {
+            System.err.println("Error sorting file: " + e.getMessage());
+        }
+    }
+    
+    private static void runKernels(String[] args) {
+        int[] sizes = {1_000_000, 10_000_000, 100_000_000};
+        long tileBytes = 1 << 18;
+        int iterations = 1;
+        String outputFile = "kernel_results.csv";
+        
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--sizes=")) {
+                String[] sizeStrings = args[i].substring(8).split(",");
+                sizes = new int[sizeStrings.length];
+                for (int j = 0; j < sizeStrings.length; j++) {
+                    sizes[j] = Integer.parseInt(sizeStrings[j].trim());
+                }
+            } else if (args[i].startsWith("--tile=")) {
+                tileBytes = parseBytes(args[i].substring(7));
+            } else if (args[i].startsWith("--iterations=")) {
+                iterations = Integer.parseInt(args[i].substring(13));
+            } else if (args[i].startsWith("--output=")) {
+                outputFile = args[i].substring(9);
+            }
+        }
+        
+        if (tileBytes < 1 || tileBytes > Integer.MAX_VALUE) {
+            System.out.println("kernels needs a --tile between 1 byte and " + Integer.MAX_VALUE + " bytes, got " + tileBytes);
+            printUsage();
+            return;
+        }
+        
+        System.out.println("Comparing Sedgewick kernels against shellSortSedgewick (best of " + iterations + ")");
+        System.out.println("Array sizes: " + Arrays.toString(sizes) + ", tile: " + tileBytes + " bytes");
+        int tile = (int) tileBytes;
+        String[] names = {"Sedgewick's", "Cache-blocked", "Unguarded"};
+        List<Consumer<int[]>> kernels = List.of(
+            ShellSort::shellSortSedgewick,
+            arr -> ShellSort.cacheBlockedSort(arr, GapSequence.SEDGEWICK, tile),
+            arr -> ShellSort.sortUnguarded(arr, GapSequence.SEDGEWICK)
+        );
+        
+        // Compile every kernel before timing so the first one is not penalised
+        for (Consumer<int[]> kernel : kernels) {
+            for (int round = 0; round < 5; round++) {
+                kernel.accept(generateRandomArray(100_000));
+            }
+        }
+        
+        try (ResultWriter writer = new ResultWriter(Path.of(outputFile))) {
+            writer.line("ArraySize,Kernel,ExecutionTime(ns),Speedup");
+            
+            for (int size : sizes) {
+                int[] array = generateRandomArray(size);
+                int[] work = new int[size];
+                long baseline = 0;
+                System.out.println(String.format("%n%,d elements:", size));
+                
+                for (int k = 0; k < kernels.size(); k++) {
+                    long best = Long.MAX_VALUE;
+                    for (int iter = 0; iter < iterations; iter++) {
+                        System.arraycopy(array, 0, work, 0, size);
+                        long start = System.nanoTime();
+                        kernels.get(k).accept(work);
+                        best = Math.min(best, System.nanoTime() - start);
+                    }
+                    if (k == 0) {
+                        baseline = best;
+                    }
+                    double speedup = (double) baseline / best;
+                    System.out.println(String.format("  %-16s %,10d ms  %.2fx", names[k], best / 1_000_000, speedup));
+                    writer.field(size).field(names[k]).field(best).field(String.format("%.3f", speedup)).endRow();
+                }
+            }
+            
+            System.out.println("\nKernel comparison completed. Results saved to " + outputFile);
+        } catch (IOException e) {
+            System.err.println("Error writing CSV file: " + e.getMessage());
+        }
+    }
+    
+    private static void runTuner(String[] args) {
+        String inputFile = null;
+        boolean text = false;
+        int size = 1000;
+        int samples = 16;
+        int population = 32;
+        int generations = 30;
+        long seed = 42;
+        String outputFile = "gaps.properties";
+        
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--input=")) {
+                inputFile = args[i].substring(8);
+            } else if (args[i].startsWith("--format=")) {
+                text = parseTextFormat(args[i].substring(9));
+            } else if (args[i].startsWith("--size=")) {
+                size = Integer.parseInt(args[i].substring(7));
+            } else if (args[i].startsWith("--samples=")) {
+                samples = Integer.parseInt(args[i].substring(10));
+            } else if (args[i].startsWith("--population=")) {
+                population = Integer.parseInt(args[i].substring(13));
+            } else if (args[i].startsWith("--generations=")) {
+                generations = Integer.parseInt(args[i].substring(14));
+            } else if (args[i].startsWith("--seed=")) {
+                seed = Long.parseLong(args[i].substring(7));
+            } else if (args[i].startsWith("--output=")) {
+                outputFile = args[i].substring(9);
+            }
+        }
+        
+        try {
+            int[] data;
+            if (inputFile == null) {
+                data = generateRandomArray(size * samples);
+                System.out.println("Tuning gaps for " + size + "-element arrays of random values");
+            } else {
+                data = text ? TextFiles.readInts(Path.of(inputFile)) : BinaryFiles.readInts(Path.of(inputFile));
+                System.out.println("Tuning gaps for " + size + "-element windows of " + inputFile + " (" + data.length + " values)");
+            }
+            
+            GapTuner tuner = new GapTuner(data, size, samples, seed);
+            System.out.println(String.format("%-20s %12s %12s %10s %8s", "Sequence", "Comparisons", "Swaps", "Time(ns)", "Fitness"));
+            for (GapSequence sequence : GapSequence.builtIn()) {
+                printScore(tuner, tuner.measure(sequence));
+            }
+            
+            System.out.println("\nSearching: population " + population + ", " + generations + " generations on "
+                + ForkJoinPool.commonPool().getParallelism() + " workers...");
+            GapTuner.Score best = tuner.search(population, generations, ForkJoinPool.commonPool());
+            printScore(tuner, tuner.measure(best.sequence));
+            
+            best.sequence.write(Path.of(outputFile));
+            System.out.println("\nGap table saved to " + outputFile);
+            System.out.println("Use it with: java -D" + GapSequence.TUNED_PROPERTY + "=" + outputFile
+                + " ... (ShellSort.sortTuned, or --sequence=tuned)");
+        } catch (IOException e) {
+            System.err.println("Error tuning gaps: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error tuning gaps: " + e.getMessage());
+        }
+    }
+    
+    private static void printScore(GapTuner tuner, GapTuner.Score score) {
+        System.out.println(String.format("%-20s %,12d %,12d %,10d %8.3f", score.sequence.name(),
+            score.comparisons, score.swaps, score.nanos, tuner.fitness(score)));
+    }
+    
+    private static long parseBytes(String value) {
+        String number = value.toLowerCase();
+        long unit = 1;
+        switch (number.charAt(number.length() - 1)) {
+            case 'k':
+                unit = 1L << 10;
+                break;
+            case 'm':
+                unit = 1L << 20;
+                break;
+            case 'g':
+                unit = 1L << 30;
+                break;
+            default:
+                return Long.parseLong(number);
+        }
+        return Long.parseLong(number.substring(0, number.length() - 1)) * unit;
+    }
+    
     private static void runBenchmarkInternal(int minSize, int maxSize, int step, int iterations, String outputFile) {
-        try (FileWriter writer = new FileWriter(outputFile)) {
-            writer.append("ArraySize,Algorithm,ExecutionTime(ns),Comparisons,Swaps\n");
+        try (ResultWriter writer = new ResultWriter(Path.of(outputFile))) {
+            writer.line("ArraySize,Algorithm,ExecutionTime(ns),Comparisons,Swaps");
+            MetricsSink original = new MetricsSink();
+            MetricsSink knuth = new MetricsSink();
+            MetricsSink sedgewick = new MetricsSink();
             
             for (int size = minSize; size <= maxSize; size += step) {
                 System.out.println("Testing size: " + size);
@@ -98,26 +529,37 @@ public class BenchmarkRunner {
                     int[] copy2 = copyArray(array);
                     int[] copy3 = copyArray(array);
                     
-                    ShellSort.PerformanceResult result1 = ShellSort.shellSortOriginalWithMetrics(copy1);
-                    ShellSort.PerformanceResult result2 = ShellSort.shellSortKnuthWithMetrics(copy2);
-                    ShellSort.PerformanceResult result3 = ShellSort.shellSortSedgewickWithMetrics(copy3);
+                    original.reset();
+                    knuth.reset();
+                    sedgewick.reset();
+                    ShellSort.shellSortOriginalWithMetrics(copy1, original);
+                    ShellSort.shellSortKnuthWithMetrics(copy2, knuth);
+                    ShellSort.shellSortSedgewickWithMetrics(copy3, sedgewick);
                     
-                    writer.append(size + ",Shell's Original," + result1.executionTime + "," + result1.comparisons + "," + result1.swaps + "\n");
-                    writer.append(size + ",Knuth's," + result2.executionTime + "," + result2.comparisons + "," + result2.swaps + "\n");
-                    writer.append(size + ",Sedgewick's," + result3.executionTime + "," + result3.comparisons + "," + result3.swaps + "\n");
+                    writeMetrics(writer, size, "Shell's Original", original);
+                    writeMetrics(writer, size, "Knuth's", knuth);
+                    writeMetrics(writer, size, "Sedgewick's", sedgewick);
                 }
             }
             
             System.out.println("Benchmark completed. Results saved to " + outputFile);
-            
+        
         } catch (IOException e) {
             System.err.println("Error writing CSV file: " + e.getMessage());
         }
     }
     
+    private static void writeMetrics(ResultWriter writer, int size, String algorithm, MetricsSink sink) throws IOException {
+        writer.field(size).field(algorithm).field(sink.executionTime())
+              .field(sink.comparisons()).field(sink.swaps()).endRow();
+    }
+    
     private static void runComparisonInternal(int[] sizes, String outputFile) {
-        try (FileWriter writer = new FileWriter(outputFile)) {
-            writer.append("ArraySize,Algorithm,ExecutionTime(ns),Comparisons,Swaps\n");
+        try (ResultWriter writer = new ResultWriter(Path.of(outputFile))) {
+            writer.line("ArraySize,Algorithm,ExecutionTime(ns),Comparisons,Swaps");
+            
+            // Run the one-off hybrid calibration before the first timed size
+            ShellSort.hybridSort(new int[0]);
             
             for (int size : sizes) {
                 System.out.println("Testing size: " + size);
@@ -128,6 +570,9 @@ public class BenchmarkRunner {
                 int[] copy2 = copyArray(array);
                 int[] copy3 = copyArray(array);
                 int[] copy4 = copyArray(array);
+                int[] copy5 = copyArray(array);
+                int[] copy6 = copyArray(array);
+                int[] copy7 = copyArray(array);
                 
                 long start1 = System.nanoTime();
                 ShellSort.shellSortOriginal(copy1);
@@ -145,14 +590,29 @@ public class BenchmarkRunner {
                 Arrays.sort(copy4);
                 long time4 = System.nanoTime() - start4;
                 
-                writer.append(size + ",Shell's Original," + time1 + ",0,0\n");
-                writer.append(size + ",Knuth's," + time2 + ",0,0\n");
-                writer.append(size + ",Sedgewick's," + time3 + ",0,0\n");
-                writer.append(size + ",Arrays.sort," + time4 + ",0,0\n");
+                long start5 = System.nanoTime();
+                ShellSort.shellSortBlockParallel(copy5);
+                long time5 = System.nanoTime() - start5;
+                
+                long start6 = System.nanoTime();
+                Arrays.parallelSort(copy6);
+                long time6 = System.nanoTime() - start6;
+                
+                long start7 = System.nanoTime();
+                ShellSort.hybridSort(copy7);
+                long time7 = System.nanoTime() - start7;
+                
+                writer.field(size).field("Shell's Original").field(time1).field(0).field(0).endRow();
+                writer.field(size).field("Knuth's").field(time2).field(0).field(0).endRow();
+                writer.field(size).field("Sedgewick's").field(time3).field(0).field(0).endRow();
+                writer.field(size).field("Arrays.sort").field(time4).field(0).field(0).endRow();
+                writer.field(size).field("Block Parallel Shell").field(time5).field(0).field(0).endRow();
+                writer.field(size).field("Arrays.parallelSort").field(time6).field(0).field(0).endRow();
+                writer.field(size).field("Hybrid").field(time7).field(0).field(0).endRow();
             }
             
             System.out.println("Comparison completed. Results saved to " + outputFile);
-            
+        
         } catch (IOException e) {
             System.err.println("Error writing CSV file: " + e.getMessage());
         }
@@ -163,6 +623,12 @@ public class BenchmarkRunner {
         System.out.println("Usage:");
         System.out.println("  java BenchmarkRunner benchmark [options]");
         System.out.println("  java BenchmarkRunner compare [options]");
+        System.out.println("  java BenchmarkRunner jmh [options] [JMH arguments]");
+        System.out.println("  java BenchmarkRunner jmh-import [options]");
+        System.out.println("  java BenchmarkRunner sort [options]");
+        System.out.println("  java BenchmarkRunner sort-file [options]");
+        System.out.println("  java BenchmarkRunner kernels [options]");
+        System.out.println("  java BenchmarkRunner tune [options]");
         System.out.println("  java BenchmarkRunner help");
         System.out.println();
         System.out.println("Benchmark options:");
@@ -176,9 +642,53 @@ public class BenchmarkRunner {
         System.out.println("  --sizes=<list>      Comma-separated list of sizes (default: 100,500,1000,2000,5000,10000)");
         System.out.println("  --output=<file>     Output CSV file (default: comparison_results.csv)");
         System.out.println();
+        System.out.println("JMH options:");
+        System.out.println("  --jar=<file>        Benchmark jar (default: benchmarks/target/benchmarks.jar)");
+        System.out.println("  --include=<regex>   Benchmarks to run (default: all)");
+        System.out.println("  --json=<file>       JMH JSON result file (default: jmh_results.json)");
+        System.out.println("  --output=<file>     Output CSV file (default: jmh_results.csv)");
+        System.out.println("  Other arguments are passed to JMH, e.g. -f 1 -wi 3 -p size=1000");
+        System.out.println();
+        System.out.println("Sort options:");
+        System.out.println("  --input=<file>      File of values to sort in memory");
+        System.out.println("  --output=<file>     Where to write the sorted values (default: don't write)");
+        System.out.println("  --type=<type>       int32 or int64 (default: int32)");
+        System.out.println("  --format=<format>   binary (little-endian) or text (one number per line) (default: binary)");
+        System.out.println("  --output-format=<f> Format of the output file (default: same as --format)");
+        System.out.println("  --sequence=<name>   Gap sequence to sort with, or tuned (default: hybrid for int32, Ciura for int64)");
+        System.out.println();
+        System.out.println("Sort-file options:");
+        System.out.println("  --input=<file>      Binary file of little-endian values to sort");
+        System.out.println("  --output=<file>     Where to write the sorted values");
+        System.out.println("  --type=<type>       int32 or int64 (default: int32)");
+        System.out.println("  --memory=<bytes>    Memory budget, with optional k/m/g suffix (default: 256m)");
+        System.out.println("  --temp-dir=<dir>    Directory for sorted runs (default: java.io.tmpdir)");
+        System.out.println("  --threads=<num>     Chunks sorted in parallel (default: available processors)");
+        System.out.println();
+        System.out.println("Kernels options:");
+        System.out.println("  --sizes=<list>      Comma-separated list of sizes (default: 1000000,10000000,100000000)");
+        System.out.println("  --tile=<bytes>      Cache-blocked tile size, with optional k/m suffix (default: 256k)");
+        System.out.println("  --iterations=<num>  Runs per kernel and size, the best is kept (default: 1)");
+        System.out.println("  --output=<file>     Output CSV file (default: kernel_results.csv)");
+        System.out.println();
+        System.out.println("Tune options:");
+        System.out.println("  --input=<file>      Sample of the workload, int32 values (default: random values)");
+        System.out.println("  --format=<format>   binary (little-endian) or text (one number per line) (default: binary)");
+        System.out.println("  --size=<n>          Array size to tune for (default: 1000)");
+        System.out.println("  --samples=<num>     Windows of the sample sorted per candidate (default: 16)");
+        System.out.println("  --population=<num>  Candidate tables per generation (default: 32)");
+        System.out.println("  --generations=<num> Generations to search (default: 30)");
+        System.out.println("  --seed=<num>        Random seed for windows and search (default: 42)");
+        System.out.println("  --output=<file>     Gap table file, load with -Dshellsort.gaps=<file> (default: gaps.properties)");
+        System.out.println();
         System.out.println("Examples:");
         System.out.println("  java BenchmarkRunner benchmark --min=100 --max=1000 --step=100");
         System.out.println("  java BenchmarkRunner compare --sizes=100,500,1000 --output=results.csv");
+        System.out.println("  java BenchmarkRunner jmh --include=ShellSortBenchmark -p distribution=RANDOM");
+        System.out.println("  java BenchmarkRunner sort --input=numbers.txt --format=text --output=sorted.txt");
+        System.out.println("  java BenchmarkRunner sort-file --input=data.bin --output=sorted.bin --type=int64 --memory=1g");
+        System.out.println("  java BenchmarkRunner kernels --sizes=10000000,100000000 --tile=1m");
+        System.out.println("  java BenchmarkRunner tune --input=sample.txt --format=text --size=500");
     }
     
     private static int[] generateRandomArray(int size) {
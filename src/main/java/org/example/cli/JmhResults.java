@@ -0,0 +1,296 @@
+package org.example.cli;
+
+import org.example.io.ResultWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts the JSON written by JMH ({@code -rf json}) into the CSV schema
+ * used by the benchmark and compare commands.
+ */
+public class JmhResults {
+    
+    private JmhResults() {
+    }
+    
+    /**
+     * Writes one CSV row per benchmark result and returns the row count. A
+     * file that is not a JMH time-per-operation result file is reported as
+     * an {@link IOException} naming the file.
+     */
+    public static int convertToCsv(Path jsonFile, String outputFile) throws IOException {
+        String json = new String(Files.readAllBytes(jsonFile), StandardCharsets.UTF_8);
+        List<?> results;
+        try {
+            results = list(new JsonParser(json).parse(), "top level");
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed JMH results in " + jsonFile + ": " + e.getMessage(), e);
+        }
+        
+        try (ResultWriter writer = new ResultWriter(Path.of(outputFile))) {
+            writer.line("ArraySize,Algorithm,ExecutionTime(ns),Comparisons,Swaps");
+            
+            for (Object entry : results) {
+                Map<?, ?> result = map(entry, "result");
+                Map<?, ?> params = result.containsKey("params") ? map(result.get("params"), "params") : Map.of();
+                Map<?, ?> metric = map(result.get("primaryMetric"), "primaryMetric");
+                
+                String size = params.containsKey("size") ? string(params.get("size"), "size") : "0";
+                double score = toDouble(metric.get("score"));
+                long nanos = Math.round(score * nanosPerUnit(string(metric.get("scoreUnit"), "scoreUnit")));
+                
+                writer.field(size).field(algorithmName(result, params)).field(nanos).field(0).field(0).endRow();
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Malformed JMH results in " + jsonFile + ": " + e.getMessage(), e);
+        }
+        return results.size();
+    }
+    
+    private static Map<?, ?> map(Object value, String what) {
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("Expected an object for " + what);
+        }
+        return (Map<?, ?>) value;
+    }
+    
+    private static List<?> list(Object value, String what) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("Expected an array for " + what);
+        }
+        return (List<?>) value;
+    }
+    
+    private static String string(Object value, String what) {
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("Expected a string for " + what);
+        }
+        return (String) value;
+    }
+    
+    private static double toDouble(Object value) {
+        // JMH writes "NaN" as a string for scores it could not compute
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(string(value, "score"));
+    }
+    
+    private static String algorithmName(Map<?, ?> result, Map<?, ?> params) {
+        String benchmark = string(result.get("benchmark"), "benchmark");
+        String[] parts = benchmark.split("\\.");
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Benchmark name without a class: " + benchmark);
+        }
+        StringBuilder name = new StringBuilder(parts[parts.length - 2]).append('.').append(parts[parts.length - 1]);
+        
+        for (Map.Entry<?, ?> param : params.entrySet()) {
+            if (!"size".equals(param.getKey())) {
+                name.append(' ').append(param.getKey()).append('=').append(param.getValue());
+            }
+        }
+        return name.toString();
+    }
+    
+    private static double nanosPerUnit(String unit) {
+        int slash = unit.indexOf('/');
+        String timeUnit = slash < 0 ? unit : unit.substring(0, slash);
+        switch (timeUnit) {
+            case "ns":
+                return 1;
+            case "us":
+                return 1_000;
+            case "ms":
+                return 1_000_000;
+            case "s":
+                return 1_000_000_000;
+            default:
+                throw new IllegalArgumentException("Only time-per-operation results can be converted, got " + unit);
+        }
+    }
+    
+    /**
+     * Just enough JSON for JMH result files: objects, arrays, strings,
+     * numbers, booleans and null.
+     */
+    static class JsonParser {
+        private final String text;
+        private int pos;
+        
+        JsonParser(String text) {
+            this.text = text;
+        }
+        
+        Object parse() {
+            Object value = readValue();
+            skipWhitespace();
+            if (pos != text.length()) {
+                throw error("Trailing content");
+            }
+            return value;
+        }
+        
+        private Object readValue() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw error("Unexpected end of input");
+            }
+            
+            char c = text.charAt(pos);
+            switch (c) {
+                case '{':
+                    return readObject();
+                case '[':
+                    return readArray();
+                case '"':
+                    return readString();
+                case 't':
+                    expect("true");
+                    return Boolean.TRUE;
+                case 'f':
+                    expect("false");
+                    return Boolean.FALSE;
+                case 'n':
+                    expect("null");
+                    return null;
+                default:
+                    return readNumber();
+            }
+        }
+        
+        private Map<String, Object> readObject() {
+            Map<String, Object> object = new LinkedHashMap<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return object;
+            }
+            
+            while (true) {
+                skipWhitespace();
+                String key = readString();
+                skipWhitespace();
+                expect(":");
+                object.put(key, readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect("}");
+                    return object;
+                }
+            }
+        }
+        
+        private List<Object> readArray() {
+            List<Object> array = new ArrayList<>();
+            pos++;
+            skipWhitespace();
+            if (peek() == ']') {
+                pos++;
+                return array;
+            }
+            
+            while (true) {
+                array.add(readValue());
+                skipWhitespace();
+                if (peek() == ',') {
+                    pos++;
+                } else {
+                    expect("]");
+                    return array;
+                }
+            }
+        }
+        
+        private String readString() {
+            expect("\"");
+            StringBuilder builder = new StringBuilder();
+            
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return builder.toString();
+                }
+                if (c != '\\') {
+                    builder.append(c);
+                    continue;
+                }
+                
+                char escaped = next();
+                switch (escaped) {
+                    case 'n':
+                        builder.append('\n');
+                        break;
+                    case 't':
+                        builder.append('\t');
+                        break;
+                    case 'r':
+                        builder.append('\r');
+                        break;
+                    case 'b':
+                        builder.append('\b');
+                        break;
+                    case 'f':
+                        builder.append('\f');
+                        break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw error("Unexpected end of input");
+                        }
+                        builder.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default:
+                        builder.append(escaped);
+                }
+            }
+        }
+        
+        private Object readNumber() {
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw error("Unexpected character '" + text.charAt(pos) + "'");
+            }
+            return Double.parseDouble(text.substring(start, pos));
+        }
+        
+        private void expect(String token) {
+            if (!text.startsWith(token, pos)) {
+                throw error("Expected '" + token + "'");
+            }
+            pos += token.length();
+        }
+        
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+        
+        private char peek() {
+            if (pos >= text.length()) {
+                throw error("Unexpected end of input");
+            }
+            return text.charAt(pos);
+        }
+        
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+        
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + pos);
+        }
+    }
+}
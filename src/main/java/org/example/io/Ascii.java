@@ -0,0 +1,48 @@
+package org.example.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes primitive values as decimal ASCII straight into a byte array, so
+ * output code can format numbers without creating a String for each one.
+ */
+public final class Ascii {
+    
+    /** Longest decimal long, {@code -9223372036854775808}. */
+    public static final int MAX_LONG_LENGTH = 20;
+    
+    private static final byte[] MIN_LONG = "-9223372036854775808".getBytes(StandardCharsets.US_ASCII);
+    
+    private Ascii() {
+    }
+    
+    /**
+     * Writes {@code value} at {@code pos} and returns the position after the
+     * last digit. The caller makes sure {@link #MAX_LONG_LENGTH} bytes fit.
+     */
+    public static int putLong(byte[] buffer, int pos, long value) {
+        if (value == Long.MIN_VALUE) {
+            System.arraycopy(MIN_LONG, 0, buffer, pos, MIN_LONG.length);
+            return pos + MIN_LONG.length;
+        }
+        if (value < 0) {
+            buffer[pos++] = '-';
+            value = -value;
+        }
+        
+        int end = pos + digits(value);
+        for (int i = end - 1; i >= pos; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+    
+    static int digits(long value) {
+        int digits = 1;
+        for (long limit = 10; digits < 19 && value >= limit; limit *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes whole arrays as raw little-endian int32 or int64 files.
+ * Reads copy straight out of mapped windows of the file; writes go through
+ * one reusable direct buffer.
+ */
+public final class BinaryFiles {
+    
+    static final long WINDOW = 1L << 30;
+    
+    private static final int WRITE_BUFFER = 1 << 20;
+    
+    private BinaryFiles() {
+    }
+    
+    public static int[] readInts(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int[] values = new int[count(file, size, ElementType.INT32)];
+            
+            for (long offset = 0; offset < size; offset += WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW, size - offset));
+                window.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(values, (int) (offset / Integer.BYTES),
+                                                                        window.capacity() / Integer.BYTES);
+            }
+            return values;
+        }
+    }
+    
+    public static long[] readLongs(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] values = new long[count(file, size, ElementType.INT64)];
+            
+            for (long offset = 0; offset < size; offset += WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW, size - offset));
+                window.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(values, (int) (offset / Long.BYTES),
+                                                                         window.capacity() / Long.BYTES);
+            }
+            return values;
+        }
+    }
+    
+    public static void writeInts(Path file, int[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        int perBuffer = WRITE_BUFFER / Integer.BYTES;
+        
+        try (FileChannel channel = open(file)) {
+            for (int i = 0; i < values.length; i += perBuffer) {
+                int count = Math.min(perBuffer, values.length - i);
+                buffer.clear();
+                buffer.asIntBuffer().put(values, i, count);
+                buffer.limit(count * Integer.BYTES);
+                write(channel, buffer);
+            }
+        }
+    }
+    
+    public static void writeLongs(Path file, long[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        int perBuffer = WRITE_BUFFER / Long.BYTES;
+        
+        try (FileChannel channel = open(file)) {
+            for (int i = 0; i < values.length; i += perBuffer) {
+                int count = Math.min(perBuffer, values.length - i);
+                buffer.clear();
+                buffer.asLongBuffer().put(values, i, count);
+                buffer.limit(count * Long.BYTES);
+                write(channel, buffer);
+            }
+        }
+    }
+    
+    private static int count(Path file, long size, ElementType type) {
+        if (size % type.bytes() != 0) {
+            throw new IllegalArgumentException(file + " is not a whole number of " + type + " values (" + size + " bytes)");
+        }
+        long count = size / type.bytes();
+        if (count > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(file + " holds " + count + " values, too many for one array; use sort-file");
+        }
+        return (int) count;
+    }
+    
+    static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+    
+    static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
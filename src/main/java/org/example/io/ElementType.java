@@ -0,0 +1,33 @@
+package org.example.io;
+
+/**
+ * Binary element formats for sortable files. Values are stored back to back
+ * in little-endian byte order with no header.
+ */
+public enum ElementType {
+    INT32(Integer.BYTES),
+    INT64(Long.BYTES);
+    
+    private final int bytes;
+    
+    ElementType(int bytes) {
+        this.bytes = bytes;
+    }
+    
+    public int bytes() {
+        return bytes;
+    }
+    
+    public static ElementType parse(String name) {
+        switch (name.toLowerCase()) {
+            case "int":
+            case "int32":
+                return INT32;
+            case "long":
+            case "int64":
+                return INT64;
+            default:
+                throw new IllegalArgumentException("Unknown element type: " + name + " (expected int32 or int64)");
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package org.example.io;
+
+import org.example.algorithm.GapSequence;
+import org.example.algorithm.ShellSort;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sorts binary files of {@link ElementType} values that do not fit in memory.
+ *
+ * <p>The input is cut into chunks that together fit the memory budget. Each
+ * chunk is mapped, sorted on the heap and written to a run file, with one
+ * worker thread per chunk in flight. The runs are then combined by a k-way
+ * heap merge that reads and writes through direct buffers sharing the
+ * memory budget. When there are more runs than the budget can give a buffer
+ * each, or more than {@link #MAX_FAN_IN}, they are merged in several passes.
+ */
+public final class ExternalSort {
+    
+    public static final long DEFAULT_MEMORY_BUDGET = 256L << 20;
+    
+    static final int MAX_FAN_IN = 128;
+    
+    private static final int MIN_IO_BUFFER = 64 << 10;
+    private static final int MAX_IO_BUFFER = 8 << 20;
+    
+    private final ElementType type;
+    private final long memoryBudget;
+    private final Path tempDirectory;
+    private final int parallelism;
+    
+    public ExternalSort(ElementType type, long memoryBudget, Path tempDirectory, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        if (memoryBudget < (long) type.bytes() * parallelism) {
+            throw new IllegalArgumentException("Memory budget of " + memoryBudget + " bytes is too small for "
+                + parallelism + " workers");
+        }
+        this.type = type;
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+        this.parallelism = parallelism;
+    }
+    
+    public Result sort(Path input, Path output) throws IOException {
+        long size = Files.size(input);
+        if (size % type.bytes() != 0) {
+            throw new IllegalArgumentException(input + " is not a whole number of " + type + " values (" + size + " bytes)");
+        }
+        long elements = size / type.bytes();
+        
+        Files.createDirectories(tempDirectory);
+        Path workDirectory = Files.createTempDirectory(tempDirectory, "shellsort-");
+        Result result;
+        try {
+            long startTime = System.nanoTime();
+            List<Path> runs = createRuns(input, elements, workDirectory);
+            long runGenerationTime = System.nanoTime() - startTime;
+            
+            startTime = System.nanoTime();
+            mergeRuns(runs, output, workDirectory);
+            long mergeTime = System.nanoTime() - startTime;
+            
+            result = new Result(elements, runs.size(), runGenerationTime, mergeTime);
+        } catch (Throwable failure) {
+            // A failed cleanup must not hide why the sort failed
+            try {
+                deleteDirectory(workDirectory);
+            } catch (IOException | RuntimeException e) {
+                failure.addSuppressed(e);
+            }
+            throw failure;
+        }
+        deleteDirectory(workDirectory);
+        return result;
+    }
+    
+    private List<Path> createRuns(Path input, long elements, Path workDirectory) throws IOException {
+        long chunkElements = Math.min(memoryBudget / parallelism / type.bytes(), Integer.MAX_VALUE / type.bytes());
+        int chunks = (int) ((elements + chunkElements - 1) / chunkElements);
+        int workers = Math.min(parallelism, chunks);
+        int bufferElements = (int) Math.min(chunkElements, elements);
+        
+        Path[] runs = new Path[chunks];
+        for (int i = 0; i < chunks; i++) {
+            runs[i] = workDirectory.resolve("run-" + i);
+        }
+        if (chunks == 0) {
+            return new ArrayList<>();
+        }
+        
+        AtomicInteger nextChunk = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                futures.add(executor.submit(() -> {
+                    // Each worker reuses one chunk-sized array for all its chunks
+                    Object buffer = type == ElementType.INT32 ? new int[bufferElements] : new long[bufferElements];
+                    for (int chunk = nextChunk.getAndIncrement(); chunk < chunks; chunk = nextChunk.getAndIncrement()) {
+                        long first = chunk * chunkElements;
+                        int count = (int) Math.min(chunkElements, elements - first);
+                        sortChunk(channel, first, count, buffer, runs[chunk]);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                await(future);
+            }
+        } finally {
+            shutdown(executor);
+        }
+        return new ArrayList<>(Arrays.asList(runs));
+    }
+    
+    private void sortChunk(FileChannel input, long first, int count, Object buffer, Path run) throws IOException {
+        long bytes = (long) count * type.bytes();
+        MappedByteBuffer chunk = input.map(FileChannel.MapMode.READ_ONLY, first * type.bytes(), bytes);
+        chunk.order(ByteOrder.LITTLE_ENDIAN);
+        
+        try (FileChannel output = FileChannel.open(run, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                                                   StandardOpenOption.WRITE)) {
+            MappedByteBuffer target = output.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            target.order(ByteOrder.LITTLE_ENDIAN);
+            
+            if (type == ElementType.INT32) {
+                int[] values = (int[]) buffer;
+                chunk.asIntBuffer().get(values, 0, count);
+                ShellSort.hybridSort(values, 0, count);
+                target.asIntBuffer().put(values, 0, count);
+            } else {
+                long[] values = (long[]) buffer;
+                chunk.asLongBuffer().get(values, 0, count);
+                ShellSort.sort(values, 0, count, GapSequence.CIURA);
+                target.asLongBuffer().put(values, 0, count);
+            }
+        }
+    }
+    
+    private void mergeRuns(List<Path> runs, Path output, Path workDirectory) throws IOException {
+        int fanIn = fanIn();
+        for (int pass = 0; runs.size() > fanIn; pass++) {
+            List<Path> merged = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += fanIn) {
+                List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                Path target = workDirectory.resolve("pass-" + pass + "-" + merged.size());
+                merge(group, target);
+                for (Path run : group) {
+                    Files.delete(run);
+                }
+                merged.add(target);
+            }
+            runs = merged;
+        }
+        
+        if (runs.size() == 1) {
+            Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            merge(runs, output);
+        }
+    }
+    
+    /**
+     * Runs merged at once: as many as the budget can give a buffer of at
+     * least {@value #MIN_IO_BUFFER} bytes, counting one for the output, but
+     * between 2 and {@link #MAX_FAN_IN}.
+     */
+    private int fanIn() {
+        return (int) Math.max(2, Math.min(MAX_FAN_IN, memoryBudget / MIN_IO_BUFFER - 1));
+    }
+    
+    /**
+     * Merges up to {@link #fanIn()} runs, splitting the budget evenly over
+     * their read buffers and the write buffer.
+     */
+    private void merge(List<Path> runs, Path output) throws IOException {
+        int k = runs.size();
+        int bufferSize = (int) Math.max(MIN_IO_BUFFER, Math.min(MAX_IO_BUFFER, memoryBudget / (k + 1)));
+        bufferSize -= bufferSize % Long.BYTES;
+        
+        RunReader[] readers = new RunReader[k];
+        try (RunWriter writer = new RunWriter(output, bufferSize)) {
+            int[] heap = new int[k];
+            int size = 0;
+            for (int i = 0; i < k; i++) {
+                readers[i] = new RunReader(runs.get(i), bufferSize);
+                if (readers[i].advance()) {
+                    heap[size++] = i;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(heap, size, i, readers);
+            }
+            
+            while (size > 0) {
+                RunReader smallest = readers[heap[0]];
+                writer.write(smallest.head);
+                if (!smallest.advance()) {
+                    heap[0] = heap[--size];
+                }
+                siftDown(heap, size, 0, readers);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+    
+    private static void siftDown(int[] heap, int size, int root, RunReader[] readers) {
+        int run = heap[root];
+        long value = readers[run].head;
+        int child;
+        while ((child = 2 * root + 1) < size) {
+            if (child + 1 < size && readers[heap[child + 1]].head < readers[heap[child]].head) {
+                child++;
+            }
+            if (value <= readers[heap[child]].head) {
+                break;
+            }
+            heap[root] = heap[child];
+            root = child;
+        }
+        heap[root] = run;
+    }
+    
+    private static void await(Future<Void> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while sorting runs");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Run generation failed", cause);
+        }
+    }
+    
+    /**
+     * Stops the workers and waits until none of them is still writing a run
+     * file, so the work directory can be deleted after a failure.
+     */
+    private static void shutdown(ExecutorService executor) {
+        executor.shutdownNow();
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+    
+    /**
+     * Streams one sorted run through a direct buffer; {@link #head} holds the
+     * value most recently returned by {@link #advance()}, widened to long.
+     */
+    private final class RunReader {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        long head;
+        
+        RunReader(Path run, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.flip();
+        }
+        
+        boolean advance() throws IOException {
+            if (buffer.remaining() < type.bytes()) {
+                buffer.compact();
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // keep filling until the buffer is full or the run is exhausted
+                }
+                buffer.flip();
+                if (buffer.remaining() < type.bytes()) {
+                    return false;
+                }
+            }
+            head = type == ElementType.INT32 ? buffer.getInt() : buffer.getLong();
+            return true;
+        }
+        
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+    
+    private final class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        
+        RunWriter(Path output, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                            StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        
+        void write(long value) throws IOException {
+            if (buffer.remaining() < type.bytes()) {
+                flush();
+            }
+            if (type == ElementType.INT32) {
+                buffer.putInt((int) value);
+            } else {
+                buffer.putLong(value);
+            }
+        }
+        
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+    
+    public static final class Result {
+        public final long elements;
+        public final int runs;
+        public final long runGenerationTime;
+        public final long mergeTime;
+        
+        Result(long elements, int runs, long runGenerationTime, long mergeTime) {
+            this.elements = elements;
+            this.runs = runs;
+            this.runGenerationTime = runGenerationTime;
+            this.mergeTime = mergeTime;
+        }
+    }
+}
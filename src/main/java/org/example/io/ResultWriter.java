@@ -0,0 +1,199 @@
+package org.example.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * CSV writer for benchmark results that keeps file I/O off the measuring
+ * thread. Fields are formatted as ASCII straight into a byte buffer with no
+ * String or boxing per value; full buffers are handed to a background
+ * thread that writes them while the caller fills the next one.
+ *
+ * <p>A writer is used by a single producing thread. Errors from the
+ * background thread are rethrown by {@link #close()}.
+ */
+public final class ResultWriter implements Closeable {
+    
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    
+    private static final int DEFAULT_BUFFERS = 3;
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+    
+    private final FileChannel channel;
+    private final BlockingQueue<ByteBuffer> filled;
+    private final BlockingQueue<ByteBuffer> free;
+    private final Thread writerThread;
+    private volatile IOException failure;
+    
+    private ByteBuffer current;
+    private byte[] bytes;
+    private int pos;
+    private boolean inRow;
+    private boolean closed;
+    
+    public ResultWriter(Path file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFERS);
+    }
+    
+    public ResultWriter(Path file, int bufferSize, int buffers) throws IOException {
+        if (bufferSize < Ascii.MAX_LONG_LENGTH + 1 || buffers < 2) {
+            throw new IllegalArgumentException("Need at least two buffers of " + (Ascii.MAX_LONG_LENGTH + 1) + " bytes");
+        }
+        this.channel = BinaryFiles.open(file);
+        this.filled = new ArrayBlockingQueue<>(buffers + 1);
+        this.free = new ArrayBlockingQueue<>(buffers);
+        for (int i = 1; i < buffers; i++) {
+            free.add(ByteBuffer.allocate(bufferSize));
+        }
+        use(ByteBuffer.allocate(bufferSize));
+        
+        this.writerThread = new Thread(this::drain, "result-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+    
+    /**
+     * Writes a whole line as is, e.g. a CSV header.
+     */
+    public ResultWriter line(String text) throws IOException {
+        putString(text);
+        return endRow();
+    }
+    
+    public ResultWriter field(long value) throws IOException {
+        separator();
+        reserve(Ascii.MAX_LONG_LENGTH);
+        pos = Ascii.putLong(bytes, pos, value);
+        return this;
+    }
+    
+    /**
+     * Writes a text field, quoted as in RFC 4180 when it holds a comma, a
+     * quote or a line break.
+     */
+    public ResultWriter field(String value) throws IOException {
+        separator();
+        if (needsQuotes(value)) {
+            putString('"' + value.replace("\"", "\"\"") + '"');
+        } else {
+            putString(value);
+        }
+        return this;
+    }
+    
+    public ResultWriter endRow() throws IOException {
+        reserve(1);
+        bytes[pos++] = '\n';
+        inRow = false;
+        return this;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        
+        try {
+            hand(current);
+            filled.put(END);
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing results");
+        } finally {
+            channel.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    
+    private void separator() throws IOException {
+        if (inRow) {
+            reserve(1);
+            bytes[pos++] = ',';
+        }
+        inRow = true;
+    }
+    
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void putString(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                reserve(1);
+                bytes[pos++] = (byte) c;
+            } else {
+                // Rare outside ASCII; encode this one code point the slow way
+                int end = Character.isHighSurrogate(c) && i + 1 < value.length() ? i + 2 : i + 1;
+                byte[] encoded = value.substring(i, end).getBytes(StandardCharsets.UTF_8);
+                reserve(encoded.length);
+                System.arraycopy(encoded, 0, bytes, pos, encoded.length);
+                pos += encoded.length;
+                i = end - 1;
+            }
+        }
+    }
+    
+    private void reserve(int length) throws IOException {
+        if (closed) {
+            throw new IOException("ResultWriter is closed");
+        }
+        if (pos + length > bytes.length) {
+            try {
+                hand(current);
+                use(free.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a result buffer");
+            }
+        }
+    }
+    
+    private void hand(ByteBuffer buffer) throws InterruptedException {
+        buffer.limit(pos).position(0);
+        filled.put(buffer);
+    }
+    
+    private void use(ByteBuffer buffer) {
+        current = buffer;
+        bytes = buffer.array();
+        pos = 0;
+    }
+    
+    private void drain() {
+        try {
+            for (ByteBuffer buffer = filled.take(); buffer != END; buffer = filled.take()) {
+                if (failure == null) {
+                    try {
+                        BinaryFiles.write(channel, buffer);
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+                buffer.clear();
+                free.put(buffer);
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Result writer thread interrupted");
+        }
+    }
+}
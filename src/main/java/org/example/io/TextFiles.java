@@ -0,0 +1,196 @@
+package org.example.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads and writes newline-delimited decimal numbers. Digits are parsed
+ * straight out of mapped windows of the file and numbers are formatted into
+ * one reusable byte buffer, so no String is created per line.
+ *
+ * <p>Values may carry a leading '+' or '-'. Spaces, tabs and '\r' separate
+ * values just like newlines, and blank lines are skipped.
+ */
+public final class TextFiles {
+    
+    private static final int WRITE_BUFFER = 1 << 16;
+    
+    private TextFiles() {
+    }
+    
+    public static int[] readInts(Path file) throws IOException {
+        Parser parser = parse(file, true);
+        return parser.count == parser.ints.length ? parser.ints : Arrays.copyOf(parser.ints, parser.count);
+    }
+    
+    public static long[] readLongs(Path file) throws IOException {
+        Parser parser = parse(file, false);
+        return parser.count == parser.longs.length ? parser.longs : Arrays.copyOf(parser.longs, parser.count);
+    }
+    
+    public static void writeInts(Path file, int[] values) throws IOException {
+        byte[] buffer = new byte[WRITE_BUFFER];
+        ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+        int pos = 0;
+        
+        try (FileChannel channel = BinaryFiles.open(file)) {
+            for (int value : values) {
+                if (pos > buffer.length - Ascii.MAX_LONG_LENGTH - 1) {
+                    flush(channel, wrapped, pos);
+                    pos = 0;
+                }
+                pos = Ascii.putLong(buffer, pos, value);
+                buffer[pos++] = '\n';
+            }
+            flush(channel, wrapped, pos);
+        }
+    }
+    
+    public static void writeLongs(Path file, long[] values) throws IOException {
+        byte[] buffer = new byte[WRITE_BUFFER];
+        ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+        int pos = 0;
+        
+        try (FileChannel channel = BinaryFiles.open(file)) {
+            for (long value : values) {
+                if (pos > buffer.length - Ascii.MAX_LONG_LENGTH - 1) {
+                    flush(channel, wrapped, pos);
+                    pos = 0;
+                }
+                pos = Ascii.putLong(buffer, pos, value);
+                buffer[pos++] = '\n';
+            }
+            flush(channel, wrapped, pos);
+        }
+    }
+    
+    private static void flush(FileChannel channel, ByteBuffer wrapped, int length) throws IOException {
+        wrapped.clear().limit(length);
+        BinaryFiles.write(channel, wrapped);
+    }
+    
+    private static Parser parse(Path file, boolean ints) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            // Short lines are the common case; the arrays grow if the guess is low
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, size / 8 + 16);
+            Parser parser = new Parser(file, ints, capacity);
+            
+            for (long offset = 0; offset < size; offset += BinaryFiles.WINDOW) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                                                      Math.min(BinaryFiles.WINDOW, size - offset));
+                parser.accept(window, offset);
+            }
+            parser.endValue(size);
+            return parser;
+        }
+    }
+    
+    /**
+     * Parsing state that carries over from one mapped window to the next, so
+     * a number may straddle a window boundary. The value is accumulated as a
+     * negative number so that {@code Long.MIN_VALUE} parses without overflow.
+     */
+    private static final class Parser {
+        private final Path file;
+        private final boolean intValues;
+        int[] ints;
+        long[] longs;
+        int count;
+        
+        private long value;
+        private boolean negative;
+        private boolean signed;
+        private int digits;
+        
+        Parser(Path file, boolean intValues, int capacity) {
+            this.file = file;
+            this.intValues = intValues;
+            if (intValues) {
+                ints = new int[capacity];
+            } else {
+                longs = new long[capacity];
+            }
+        }
+        
+        void accept(ByteBuffer window, long offset) {
+            long value = this.value;
+            int digits = this.digits;
+            int limit = window.limit();
+            
+            for (int i = 0; i < limit; i++) {
+                byte b = window.get(i);
+                int digit = b - '0';
+                if (digit >= 0 && digit <= 9) {
+                    if (value < (Long.MIN_VALUE + digit) / 10) {
+                        throw error("Number too large", offset + i);
+                    }
+                    value = value * 10 - digit;
+                    digits++;
+                } else if (b == '\n' || b == '\r' || b == ' ' || b == '\t') {
+                    this.value = value;
+                    this.digits = digits;
+                    endValue(offset + i);
+                    value = 0;
+                    digits = 0;
+                } else if ((b == '-' || b == '+') && digits == 0 && !signed) {
+                    negative = b == '-';
+                    signed = true;
+                } else {
+                    throw error("Unexpected character '" + (char) b + "'", offset + i);
+                }
+            }
+            this.value = value;
+            this.digits = digits;
+        }
+        
+        void endValue(long position) {
+            if (digits == 0) {
+                if (signed) {
+                    throw error("Sign without digits", position);
+                }
+                return;
+            }
+            if (!negative && value == Long.MIN_VALUE) {
+                throw error("Number too large", position);
+            }
+            long parsed = negative ? value : -value;
+            
+            if (intValues) {
+                if (parsed != (int) parsed) {
+                    throw error("Number does not fit in an int", position);
+                }
+                if (count == ints.length) {
+                    ints = Arrays.copyOf(ints, grow(count));
+                }
+                ints[count++] = (int) parsed;
+            } else {
+                if (count == longs.length) {
+                    longs = Arrays.copyOf(longs, grow(count));
+                }
+                longs[count++] = parsed;
+            }
+            
+            value = 0;
+            digits = 0;
+            negative = false;
+            signed = false;
+        }
+        
+        private int grow(int length) {
+            if (length >= Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException(file + " holds too many values for one array; use sort-file");
+            }
+            return (int) Math.min(Integer.MAX_VALUE - 8, length * 2L + 16);
+        }
+        
+        private NumberFormatException error(String message, long position) {
+            return new NumberFormatException(message + " at byte " + position + " of " + file);
+        }
+    }
+}
@@ -1,63 +1,152 @@
 package org.example.perfomancetracker;
 
-import java.io.FileWriter;
+import org.example.algorithm.MetricsSink;
+import org.example.algorithm.ShellSort;
+import org.example.io.ResultWriter;
+
 import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Collects per-sort metrics. Safe to use from many sorting threads at once:
+ * every thread appends to its own stripe, so recording never takes a lock or
+ * contends with other writers. Readers merge the stripes into a snapshot.
+ *
+ * <p>A {@link #streaming streaming} tracker keeps no per-sort records.
+ * Instead it keeps {@link StreamingStats} for each power-of-two range of
+ * array sizes, so its memory stays constant however many sorts it sees.
+ */
 public class PerformanceTracker {
-    private List<PerformanceMetrics> metrics;
-    private String algorithmName;
+    static final int SIZE_BUCKETS = 32;
+    
+    private final String algorithmName;
+    private final boolean streaming;
+    private final ThreadLocal<Stripe> localStripe = new ThreadLocal<>();
+    private final AtomicReference<Registry> registry = new AtomicReference<>(new Registry());
     
     public PerformanceTracker(String algorithmName) {
+        this(algorithmName, false);
+    }
+    
+    private PerformanceTracker(String algorithmName, boolean streaming) {
         this.algorithmName = algorithmName;
-        this.metrics = new ArrayList<>();
+        this.streaming = streaming;
     }
     
+    public static PerformanceTracker streaming(String algorithmName) {
+        return new PerformanceTracker(algorithmName, true);
+    }
+    
+    /**
+     * Starts timing a sort on the calling thread. The matching
+     * {@link #endTimer} must be called on the same thread.
+     */
     public void startTimer() {
-        PerformanceMetrics metric = new PerformanceMetrics();
-        metric.startTime = System.nanoTime();
-        metric.algorithmName = this.algorithmName;
-        metrics.add(metric);
+        stripe().pendingStart = System.nanoTime();
     }
     
     public void endTimer(int arraySize, long comparisons, long swaps) {
-        if (!metrics.isEmpty()) {
-            PerformanceMetrics metric = metrics.get(metrics.size() - 1);
-            metric.endTime = System.nanoTime();
-            metric.executionTime = metric.endTime - metric.startTime;
-            metric.arraySize = arraySize;
-            metric.comparisons = comparisons;
-            metric.swaps = swaps;
+        long endTime = System.nanoTime();
+        Stripe stripe = stripe();
+        if (stripe.pendingStart == Stripe.NOT_STARTED) {
+            return;
         }
+        if (streaming) {
+            stripe.record(arraySize, endTime - stripe.pendingStart, comparisons, swaps);
+            stripe.pendingStart = Stripe.NOT_STARTED;
+            return;
+        }
+        
+        PerformanceMetrics metric = new PerformanceMetrics();
+        metric.algorithmName = this.algorithmName;
+        metric.startTime = stripe.pendingStart;
+        metric.endTime = endTime;
+        metric.executionTime = endTime - stripe.pendingStart;
+        metric.arraySize = arraySize;
+        metric.comparisons = comparisons;
+        metric.swaps = swaps;
+        stripe.pendingStart = Stripe.NOT_STARTED;
+        stripe.add(metric);
     }
     
     public void recordMetrics(int arraySize, long executionTime, long comparisons, long swaps) {
+        if (streaming) {
+            stripe().record(arraySize, executionTime, comparisons, swaps);
+            return;
+        }
+        
         PerformanceMetrics metric = new PerformanceMetrics();
         metric.algorithmName = this.algorithmName;
         metric.arraySize = arraySize;
         metric.executionTime = executionTime;
         metric.comparisons = comparisons;
         metric.swaps = swaps;
-        metrics.add(metric);
+        stripe().add(metric);
+    }
+    
+    /**
+     * Records everything collected in {@code sink} as a single entry holding
+     * the per-sort averages, so batches of sorts cost one entry instead of one
+     * per sort.
+     */
+    public void recordMetrics(MetricsSink sink) {
+        long sorts = sink.sorts();
+        if (sorts == 0) {
+            return;
+        }
+        recordMetrics((int) (sink.elements() / sorts), sink.executionTime() / sorts,
+                      sink.comparisons() / sorts, sink.swaps() / sorts);
     }
     
     public void exportToCSV(String filename) {
-        try (FileWriter writer = new FileWriter(filename)) {
-            writer.append("Algorithm,ArraySize,ExecutionTime(ns),Comparisons,Swaps\n");
+        try (ResultWriter writer = new ResultWriter(Path.of(filename))) {
+            writer.line("Algorithm,ArraySize,ExecutionTime(ns),Comparisons,Swaps");
             
-            for (PerformanceMetrics metric : metrics) {
-                writer.append(metric.algorithmName)
-                      .append(",")
-                      .append(String.valueOf(metric.arraySize))
-                      .append(",")
-                      .append(String.valueOf(metric.executionTime))
-                      .append(",")
-                      .append(String.valueOf(metric.comparisons))
-                      .append(",")
-                      .append(String.valueOf(metric.swaps))
-                      .append("\n");
+            for (PerformanceMetrics metric : getMetrics()) {
+                writer.field(metric.algorithmName)
+                      .field(metric.arraySize)
+                      .field(metric.executionTime)
+                      .field(metric.comparisons)
+                      .field(metric.swaps)
+                      .endRow();
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing CSV file: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Writes one row per size range with the count, mean, standard
+     * deviation, extremes and tail percentiles of the execution time.
+     */
+    public void exportSummaryToCSV(String filename) {
+        try (ResultWriter writer = new ResultWriter(Path.of(filename))) {
+            writer.line("Algorithm,MinSize,MaxSize,Runs,Mean(ns),StdDev(ns),Min(ns),Max(ns),P50(ns),P99(ns),P99.9(ns)");
+            
+            for (Map.Entry<Integer, StreamingStats> entry : getStatistics().entrySet()) {
+                StreamingStats stats = entry.getValue();
+                writer.field(algorithmName)
+                      .field(entry.getKey())
+                      .field(bucketMaxSize(entry.getKey()))
+                      .field(stats.count())
+                      .field(Math.round(stats.mean()))
+                      .field(Math.round(stats.standardDeviation()))
+                      .field(stats.min())
+                      .field(stats.max())
+                      .field(stats.percentile(50))
+                      .field(stats.percentile(99))
+                      .field(stats.percentile(99.9))
+                      .endRow();
             }
         } catch (IOException e) {
             System.err.println("Error writing CSV file: " + e.getMessage());
@@ -65,36 +154,125 @@ public class PerformanceTracker {
     }
     
     public void printSummary() {
+        SortedMap<Integer, StreamingStats> statistics = getStatistics();
+        StreamingStats overall = combine(statistics);
         System.out.println("Performance Summary for " + algorithmName + ":");
-        System.out.println("Total runs: " + metrics.size());
+        System.out.println("Total runs: " + overall.count());
         
-        if (!metrics.isEmpty()) {
-            long totalTime = 0;
-            long totalComparisons = 0;
-            long totalSwaps = 0;
+        if (overall.count() > 0) {
+            double avgComparisons = (double) overall.totalComparisons() / overall.count();
+            double avgSwaps = (double) overall.totalSwaps() / overall.count();
             
-            for (PerformanceMetrics metric : metrics) {
-                totalTime += metric.executionTime;
-                totalComparisons += metric.comparisons;
-                totalSwaps += metric.swaps;
-            }
-            
-            double avgTime = (double) totalTime / metrics.size();
-            double avgComparisons = (double) totalComparisons / metrics.size();
-            double avgSwaps = (double) totalSwaps / metrics.size();
-            
-            System.out.println("Average execution time: " + String.format("%.2f", avgTime) + " ns");
+            System.out.println("Average execution time: " + String.format("%.2f", overall.mean()) + " ns");
             System.out.println("Average comparisons: " + String.format("%.2f", avgComparisons));
             System.out.println("Average swaps: " + String.format("%.2f", avgSwaps));
+            
+            for (Map.Entry<Integer, StreamingStats> entry : statistics.entrySet()) {
+                StreamingStats stats = entry.getValue();
+                System.out.println(String.format("  size %d-%d: %d runs, mean %.0f ns, stddev %.0f ns, "
+                                                     + "min %d, p50 %d, p99 %d, p99.9 %d, max %d ns",
+                                                 entry.getKey(), bucketMaxSize(entry.getKey()), stats.count(),
+                                                 stats.mean(), stats.standardDeviation(), stats.min(),
+                                                 stats.percentile(50), stats.percentile(99),
+                                                 stats.percentile(99.9), stats.max()));
+            }
+        }
+    }
+    
+    public double getAverageExecutionTime() {
+        return combine(getStatistics()).mean();
+    }
+    
+    /**
+     * Returns execution time statistics keyed by the smallest array size of
+     * each power-of-two size range. Streaming trackers merge their
+     * per-thread statistics; record-keeping trackers compute them from the
+     * current records.
+     */
+    public SortedMap<Integer, StreamingStats> getStatistics() {
+        StreamingStats[] buckets = new StreamingStats[SIZE_BUCKETS];
+        if (streaming) {
+            for (Stripe stripe : registry.get().stripes.get()) {
+                stripe.addStatisticsTo(buckets);
+            }
+        } else {
+            for (PerformanceMetrics metric : getMetrics()) {
+                int bucket = sizeBucket(metric.arraySize);
+                if (buckets[bucket] == null) {
+                    buckets[bucket] = new StreamingStats();
+                }
+                buckets[bucket].record(metric.executionTime, metric.comparisons, metric.swaps);
+            }
         }
+        
+        SortedMap<Integer, StreamingStats> statistics = new TreeMap<>();
+        for (int bucket = 0; bucket < SIZE_BUCKETS; bucket++) {
+            if (buckets[bucket] != null) {
+                statistics.put(bucketMinSize(bucket), buckets[bucket]);
+            }
+        }
+        return statistics;
+    }
+    
+    private static StreamingStats combine(SortedMap<Integer, StreamingStats> statistics) {
+        StreamingStats overall = new StreamingStats();
+        for (StreamingStats stats : statistics.values()) {
+            overall.add(stats);
+        }
+        return overall;
+    }
+    
+    static int sizeBucket(int arraySize) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(arraySize, 0));
+    }
+    
+    private static int bucketMinSize(int bucket) {
+        return bucket == 0 ? 0 : 1 << (bucket - 1);
     }
     
+    private static int bucketMaxSize(int minSize) {
+        return minSize == 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, 2L * minSize - 1);
+    }
+    
+    /**
+     * Returns the metrics recorded so far. Each thread's records appear in
+     * the order that thread recorded them, and a record is either fully
+     * present or absent.
+     */
     public List<PerformanceMetrics> getMetrics() {
-        return new ArrayList<>(metrics);
+        List<PerformanceMetrics> snapshot = new ArrayList<>();
+        for (Stripe stripe : registry.get().stripes.get()) {
+            stripe.copyTo(snapshot);
+        }
+        return snapshot;
     }
     
+    /**
+     * Drops everything recorded so far by swapping in an empty registry.
+     * Threads move to the new registry on their next record. A timer started
+     * before the clear keeps running, and its sort is recorded after it.
+     */
     public void clear() {
-        metrics.clear();
+        registry.set(new Registry());
+    }
+    
+    int stripeCount() {
+        return registry.get().stripes.get().length;
+    }
+    
+    private Stripe stripe() {
+        Stripe stripe = localStripe.get();
+        Registry current = registry.get();
+        if (stripe == null || stripe.registry != current) {
+            Stripe fresh = new Stripe(current, Thread.currentThread());
+            if (stripe != null) {
+                fresh.pendingStart = stripe.pendingStart;
+            }
+            stripe = fresh;
+            current.register(stripe);
+            localStripe.set(stripe);
+        }
+        return stripe;
     }
     
     public static void runBenchmark() {
@@ -169,122 +347,174 @@ public class PerformanceTracker {
     }
     
     public static PerformanceResult shellSortOriginalWithMetrics(int[] arr) {
-        int n = arr.length;
-        long comparisons = 0;
-        long swaps = 0;
-        long startTime = System.nanoTime();
-        
-        for (int gap = n / 2; gap > 0; gap /= 2) {
-            for (int i = gap; i < n; i++) {
-                int temp = arr[i];
-                int j;
-                for (j = i; j >= gap; j -= gap) {
-                    comparisons++;
-                    if (arr[j - gap] > temp) {
-                        arr[j] = arr[j - gap];
-                        swaps++;
-                    } else {
-                        break;
-                    }
-                }
-                arr[j] = temp;
-            }
-        }
-        
-        long endTime = System.nanoTime();
-        return new PerformanceResult(endTime - startTime, comparisons, swaps);
+        return PerformanceResult.of(ShellSort.shellSortOriginalWithMetrics(arr));
     }
     
     public static PerformanceResult shellSortKnuthWithMetrics(int[] arr) {
-        int n = arr.length;
-        long comparisons = 0;
-        long swaps = 0;
-        long startTime = System.nanoTime();
-        int gap = 1;
+        return PerformanceResult.of(ShellSort.shellSortKnuthWithMetrics(arr));
+    }
+    
+    public static PerformanceResult shellSortSedgewickWithMetrics(int[] arr) {
+        return PerformanceResult.of(ShellSort.shellSortSedgewickWithMetrics(arr));
+    }
+    
+    /**
+     * The set of stripes written since the last {@link #clear()}. A stripe
+     * is added, by copy-on-write, once per thread. Pool threads come and go,
+     * so each registration also folds the stripes of threads that have died
+     * into one retired stripe at the front and drops them; the array then
+     * grows with the live threads only.
+     */
+    private static final class Registry {
+        final AtomicReference<Stripe[]> stripes = new AtomicReference<>(new Stripe[] {new Stripe(this, null)});
         
-        while (gap < n / 3) {
-            gap = 3 * gap + 1;
+        void register(Stripe stripe) {
+            Stripe[] current;
+            Stripe[] next;
+            do {
+                current = stripes.get();
+                next = withoutDeadStripes(current);
+                next = Arrays.copyOf(next, next.length + 1);
+                next[next.length - 1] = stripe;
+            } while (!stripes.compareAndSet(current, next));
         }
         
-        while (gap >= 1) {
-            for (int i = gap; i < n; i++) {
-                int temp = arr[i];
-                int j;
-                for (j = i; j >= gap; j -= gap) {
-                    comparisons++;
-                    if (arr[j - gap] > temp) {
-                        arr[j] = arr[j - gap];
-                        swaps++;
-                    } else {
-                        break;
-                    }
+        /**
+         * Returns {@code current} when every owner is alive. Otherwise the
+         * retired stripe and the dead ones are merged into a fresh retired
+         * stripe, so a reader sees each record in exactly one array.
+         */
+        private Stripe[] withoutDeadStripes(Stripe[] current) {
+            int live = 0;
+            for (int i = 1; i < current.length; i++) {
+                if (current[i].ownerAlive()) {
+                    live++;
                 }
-                arr[j] = temp;
             }
-            gap = (gap - 1) / 3;
-        }
-        
-        long endTime = System.nanoTime();
-        return new PerformanceResult(endTime - startTime, comparisons, swaps);
-    }
-    
-    public static PerformanceResult shellSortSedgewickWithMetrics(int[] arr) {
-        int n = arr.length;
-        long comparisons = 0;
-        long swaps = 0;
-        long startTime = System.nanoTime();
-        int[] gaps = generateSedgewickGaps(n);
-        
-        for (int k = gaps.length - 1; k >= 0; k--) {
-            int gap = gaps[k];
-            if (gap <= 0) continue;
+            if (live == current.length - 1) {
+                return current;
+            }
             
-            for (int i = gap; i < n; i++) {
-                int temp = arr[i];
-                int j;
-                for (j = i; j >= gap; j -= gap) {
-                    comparisons++;
-                    if (arr[j - gap] > temp) {
-                        arr[j] = arr[j - gap];
-                        swaps++;
-                    } else {
-                        break;
-                    }
+            Stripe[] next = new Stripe[live + 1];
+            Stripe retired = new Stripe(this, null);
+            retired.absorb(current[0]);
+            int length = 1;
+            for (int i = 1; i < current.length; i++) {
+                if (current[i].ownerAlive()) {
+                    next[length++] = current[i];
+                } else {
+                    retired.absorb(current[i]);
                 }
-                arr[j] = temp;
             }
+            next[0] = retired;
+            return next;
         }
-        
-        long endTime = System.nanoTime();
-        return new PerformanceResult(endTime - startTime, comparisons, swaps);
     }
     
-    private static int[] generateSedgewickGaps(int n) {
-        List<Integer> gaps = new ArrayList<>();
-        int k = 0;
+    /**
+     * Append-only records of one thread. The owner is the only writer; it
+     * fills a slot before publishing the new size, so a reader that sees the
+     * size also sees every record below it.
+     *
+     * <p>Streaming statistics are guarded by a sequence lock instead: the
+     * version is odd while the owner updates them, and readers retry until
+     * they copy them under one even version.
+     */
+    private static final class Stripe {
+        static final long NOT_STARTED = Long.MIN_VALUE;
         
-        while (true) {
-            int gap1 = 9 * (int) Math.pow(4, k) - 9 * (int) Math.pow(2, k) + 1;
-            int gap2 = (int) Math.pow(4, k + 1) - 3 * (int) Math.pow(2, k + 1) + 1;
-            
-            if (gap1 > 0 && gap1 < n) {
-                gaps.add(gap1);
+        final Registry registry;
+        private final WeakReference<Thread> owner;
+        long pendingStart = NOT_STARTED;
+        private volatile PerformanceMetrics[] records = new PerformanceMetrics[16];
+        private volatile int size;
+        private final StreamingStats[] statistics = new StreamingStats[SIZE_BUCKETS];
+        private volatile int version;
+        
+        Stripe(Registry registry, Thread owner) {
+            this.registry = registry;
+            this.owner = new WeakReference<>(owner);
+        }
+        
+        /**
+         * The owner is only weakly held, so a stripe never keeps a retired
+         * pool thread reachable; a collected owner counts as dead.
+         */
+        boolean ownerAlive() {
+            Thread thread = owner.get();
+            return thread != null && thread.isAlive();
+        }
+        
+        void add(PerformanceMetrics metric) {
+            PerformanceMetrics[] current = records;
+            int n = size;
+            if (n == current.length) {
+                current = Arrays.copyOf(current, n * 2);
+                records = current;
             }
-            if (gap2 > 0 && gap2 < n && gap2 != gap1) {
-                gaps.add(gap2);
+            current[n] = metric;
+            size = n + 1;
+        }
+        
+        void record(int arraySize, long executionTime, long comparisons, long swaps) {
+            int bucket = sizeBucket(arraySize);
+            int v = version;
+            version = v + 1;
+            VarHandle.storeStoreFence();
+            if (statistics[bucket] == null) {
+                statistics[bucket] = new StreamingStats();
             }
+            statistics[bucket].record(executionTime, comparisons, swaps);
+            version = v + 2;
+        }
+        
+        void addStatisticsTo(StreamingStats[] buckets) {
+            StreamingStats[] copies = new StreamingStats[SIZE_BUCKETS];
+            int before;
+            do {
+                before = version;
+                if ((before & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                for (int bucket = 0; bucket < SIZE_BUCKETS; bucket++) {
+                    StreamingStats stats = statistics[bucket];
+                    copies[bucket] = stats == null ? null : stats.copy();
+                }
+                VarHandle.loadLoadFence();
+            } while ((before & 1) != 0 || version != before);
             
-            if (gap1 >= n && gap2 >= n) {
-                break;
+            for (int bucket = 0; bucket < SIZE_BUCKETS; bucket++) {
+                if (copies[bucket] != null) {
+                    if (buckets[bucket] == null) {
+                        buckets[bucket] = new StreamingStats();
+                    }
+                    buckets[bucket].add(copies[bucket]);
+                }
             }
-            k++;
         }
         
-        if (gaps.isEmpty()) {
-            gaps.add(1);
+        /**
+         * Appends the records and statistics of {@code other}. Only called
+         * on a retired stripe before it is published, and only with stripes
+         * whose owners have finished writing.
+         */
+        void absorb(Stripe other) {
+            List<PerformanceMetrics> metrics = new ArrayList<>();
+            other.copyTo(metrics);
+            for (PerformanceMetrics metric : metrics) {
+                add(metric);
+            }
+            other.addStatisticsTo(statistics);
         }
         
-        return gaps.stream().mapToInt(i -> i).toArray();
+        void copyTo(List<PerformanceMetrics> out) {
+            int n = size;
+            PerformanceMetrics[] current = records;
+            for (int i = 0; i < n; i++) {
+                out.add(current[i]);
+            }
+        }
     }
     
     public static class PerformanceMetrics {
@@ -307,5 +537,9 @@ public class PerformanceTracker {
             this.comparisons = comparisons;
             this.swaps = swaps;
         }
+        
+        static PerformanceResult of(ShellSort.PerformanceResult result) {
+            return new PerformanceResult(result.executionTime, result.comparisons, result.swaps);
+        }
     }
 }
@@ -0,0 +1,100 @@
+package org.example.perfomancetracker;
+
+/**
+ * Running statistics over execution times that take the same memory after a
+ * billion sorts as after one: count, mean and variance by Welford's method,
+ * min, max, comparison and swap totals, and a {@link LatencyHistogram} for
+ * percentiles.
+ */
+public final class StreamingStats {
+    
+    private long count;
+    private double mean;
+    private double m2;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    private long totalComparisons;
+    private long totalSwaps;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    
+    public void record(long executionTime, long comparisons, long swaps) {
+        count++;
+        double delta = executionTime - mean;
+        mean += delta / count;
+        m2 += delta * (executionTime - mean);
+        min = Math.min(min, executionTime);
+        max = Math.max(max, executionTime);
+        totalComparisons += comparisons;
+        totalSwaps += swaps;
+        histogram.record(executionTime);
+    }
+    
+    /**
+     * Folds {@code other} into this, as if its sorts had been recorded here
+     * (Chan et al.'s pairwise update for the mean and variance).
+     */
+    public void add(StreamingStats other) {
+        if (other.count == 0) {
+            return;
+        }
+        long combined = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / combined;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / combined);
+        count = combined;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        totalComparisons += other.totalComparisons;
+        totalSwaps += other.totalSwaps;
+        histogram.add(other.histogram);
+    }
+    
+    public long count() {
+        return count;
+    }
+    
+    public double mean() {
+        return mean;
+    }
+    
+    public double variance() {
+        return count > 1 ? m2 / (count - 1) : 0;
+    }
+    
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+    
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+    
+    public long max() {
+        return count == 0 ? 0 : max;
+    }
+    
+    public long totalComparisons() {
+        return totalComparisons;
+    }
+    
+    public long totalSwaps() {
+        return totalSwaps;
+    }
+    
+    /**
+     * Execution time at the given percentile (0 to 100), accurate to the
+     * histogram's bucket width and clamped to the recorded range.
+     */
+    public long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        return Math.max(min, Math.min(max, histogram.valueAtPercentile(percentile)));
+    }
+    
+    StreamingStats copy() {
+        StreamingStats copy = new StreamingStats();
+        copy.add(this);
+        return copy;
+    }
+}
@@ -1,7 +1,14 @@
 package org.example.algorithm;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class ShellSortTest {
     
@@ -16,6 +23,21 @@ public class ShellSortTest {
         testReverseSortedArray();
         testRandomArrays();
         testLargeArrays();
+        testGapSequences();
+        testParallelSort();
+        testBlockParallelSort();
+        testCacheBlockedSort();
+        testUnguardedSort();
+        testSortingNetworks();
+        testBatchSort();
+        testArgsort();
+        testKeyValueSort();
+        testStableSort();
+        testVectorSort();
+        testObjectSorting();
+        testHybridSort();
+        testGapTuner();
+        testMetricsSink();
         
         System.out.println("\n=== PROPERTY-BASED TESTING ===");
         propertyBasedTest();
@@ -142,6 +164,580 @@ public class ShellSortTest {
         System.out.println("✓ Large arrays test passed");
     }
     
+    public static void testGapSequences() {
+        System.out.println("Testing all gap sequences...");
+        Random random = new Random(7);
+        
+        for (GapSequence sequence : GapSequence.builtIn()) {
+            assert sequence.gap(0) == 1 : sequence.name() + " should end with gap 1";
+            for (int k = 1; k < sequence.length(); k++) {
+                assert sequence.gap(k) > sequence.gap(k - 1) : sequence.name() + " should be ascending";
+            }
+            assert sequence.startIndex(0) == -1 && sequence.startIndex(1) == -1 : "Trivial arrays need no passes";
+            assert sequence.startIndex(2) == 0 : "Two elements need only the final pass";
+            
+            for (int size : new int[]{0, 1, 2, 3, 17, 100, 1000, 5000}) {
+                int[] array = new int[size];
+                for (int j = 0; j < size; j++) {
+                    array[j] = random.nextInt();
+                }
+                int[] copy1 = copyArray(array);
+                int[] copy2 = copyArray(array);
+                int[] copy3 = copyArray(array);
+                
+                ShellSort.sort(copy1, sequence);
+                ShellSort.PerformanceResult result = ShellSort.sortWithMetrics(copy2, sequence);
+                Arrays.sort(copy3);
+                
+                assert Arrays.equals(copy1, copy3) : sequence.name() + " should sort size " + size;
+                assert Arrays.equals(copy2, copy3) : sequence.name() + " with metrics should sort size " + size;
+                assert size < 2 || result.comparisons >= size - 1 : "Metrics should count comparisons";
+            }
+        }
+        
+        assert GapSequence.SEDGEWICK.gap(1) == 5 && GapSequence.SEDGEWICK.gap(2) == 19 : "Sedgewick table should match the formula";
+        assert GapSequence.CIURA.gap(8) == 1750 : "Ciura table should contain the empirical gaps";
+        System.out.println("✓ Gap sequences test passed");
+    }
+    
+    public static void testParallelSort() {
+        System.out.println("Testing parallel chain sort...");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        try {
+            for (GapSequence sequence : GapSequence.builtIn()) {
+                for (int size : new int[]{0, 1, 1000, 50000, 300000}) {
+                    int[] array = generateRandomArray(size);
+                    int[] copy1 = copyArray(array);
+                    int[] copy2 = copyArray(array);
+                    int[] copy3 = copyArray(array);
+                    
+                    ParallelShellSort.sort(copy1, 0, size, sequence, 1, pool);
+                    ShellSort.parallelSort(copy2, sequence);
+                    Arrays.sort(copy3);
+                    
+                    assert Arrays.equals(copy1, copy3) : sequence.name() + " parallel sort failed for size " + size;
+                    assert Arrays.equals(copy2, copy3) : sequence.name() + " parallel sort failed for size " + size;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("✓ Parallel sort test passed");
+    }
+    
+    public static void testBlockParallelSort() {
+        System.out.println("Testing block parallel sort...");
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        try {
+            for (int size : new int[]{0, 1, 100, BlockParallelShellSort.BLOCK_SIZE + 1, 200000, 1000003}) {
+                int[] array = generateRandomArray(size);
+                int[] copy1 = copyArray(array);
+                int[] copy2 = copyArray(array);
+                int[] copy3 = copyArray(array);
+                
+                BlockParallelShellSort.sort(copy1, 0, size, GapSequence.CIURA, null, pool);
+                ShellSort.shellSortBlockParallel(copy2);
+                Arrays.sort(copy3);
+                
+                assert Arrays.equals(copy1, copy3) : "Block parallel sort failed for size " + size;
+                assert Arrays.equals(copy2, copy3) : "Block parallel sort failed for size " + size;
+            }
+            
+            // One scratch buffer shared by range sorts that do not start at 0
+            int[] scratch = new int[300000];
+            for (int from : new int[]{0, 7, 12345}) {
+                int[] array = generateRandomArray(from + 300000 + 5);
+                int[] expected = copyArray(array);
+                Arrays.sort(expected, from, from + 300000);
+                BlockParallelShellSort.sort(array, from, from + 300000, GapSequence.CIURA, scratch, pool);
+                assert Arrays.equals(array, expected) : "Block parallel range sort failed from " + from;
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("✓ Block parallel sort test passed");
+    }
+    
+    public static void testCacheBlockedSort() {
+        System.out.println("Testing cache-blocked sort...");
+        
+        for (GapSequence sequence : GapSequence.builtIn()) {
+            for (int size : new int[]{0, 1, 1000, 65537, 300000}) {
+                for (int tileBytes : new int[]{1, 1 << 10, 1 << 14, 1 << 18}) {
+                    int[] array = generateRandomArray(size);
+                    int[] expected = copyArray(array);
+                    Arrays.sort(expected);
+                    
+                    // Small tiles force even modest gaps to be split into many blocks
+                    CacheBlockedShellSort.sort(array, 0, size, sequence, tileBytes);
+                    assert Arrays.equals(array, expected) : sequence.name() + " cache-blocked sort failed for size " + size + ", tile " + tileBytes;
+                }
+            }
+        }
+        
+        int[] array = generateRandomArray(10000);
+        int[] expected = copyArray(array);
+        Arrays.sort(expected);
+        ShellSort.cacheBlockedSort(array, GapSequence.SEDGEWICK);
+        assert Arrays.equals(array, expected) : "Cache-blocked sort with the default tile failed";
+        System.out.println("✓ Cache-blocked sort test passed");
+    }
+    
+    public static void testUnguardedSort() {
+        System.out.println("Testing unguarded sort...");
+        Random random = new Random(21);
+        
+        for (int size : new int[]{0, 1, 2, 3, 4, 13, 14, 40, 41, 1000, 100003}) {
+            for (int bound : new int[]{3, Integer.MAX_VALUE}) {
+                int[] array = new int[size];
+                for (int i = 0; i < size; i++) {
+                    array[i] = random.nextInt(bound) - bound / 2;
+                }
+                int[] knuth = copyArray(array);
+                ShellSort.shellSortKnuth(knuth);
+                
+                int[] unguarded = copyArray(array);
+                ShellSort.shellSortKnuthUnguarded(unguarded);
+                assert Arrays.equals(unguarded, knuth) : "Unguarded Knuth should match shellSortKnuth for size " + size;
+                
+                for (GapSequence sequence : GapSequence.builtIn()) {
+                    int[] copy = copyArray(array);
+                    ShellSort.sortUnguarded(copy, sequence);
+                    assert Arrays.equals(copy, knuth) : sequence.name() + " unguarded sort failed for size " + size;
+                }
+                
+                if (size > 3) {
+                    // The sentinel must come from inside the range, not from the element before it
+                    int[] range = copyArray(array);
+                    range[0] = Integer.MIN_VALUE;
+                    int[] expected = copyArray(range);
+                    Arrays.sort(expected, 1, size - 1);
+                    ShellSort.shellSortKnuthUnguarded(range, 1, size - 1);
+                    assert Arrays.equals(range, expected) : "Unguarded range sort failed for size " + size;
+                }
+            }
+        }
+        System.out.println("✓ Unguarded sort test passed");
+    }
+    
+    public static void testSortingNetworks() {
+        System.out.println("Testing sorting networks...");
+        // 0-1 principle: a network sorts everything if it sorts every 0/1 input
+        for (int n = 0; n <= BatchShellSort.MAX_NETWORK_SIZE; n++) {
+            int[] bits = new int[n];
+            for (int mask = 0; mask < 1 << n; mask++) {
+                for (int i = 0; i < n; i++) {
+                    bits[i] = (mask >>> i) & 1;
+                }
+                BatchShellSort.sortSmall(bits, 0, n);
+                for (int i = 1; i < n; i++) {
+                    assert bits[i - 1] <= bits[i] : "Network for " + n + " inputs fails on mask " + mask;
+                }
+            }
+        }
+        System.out.println("✓ Sorting network test passed");
+    }
+    
+    public static void testBatchSort() {
+        System.out.println("Testing batch row and segment sorts...");
+        Random random = new Random(17);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        try {
+            int[][] rows = new int[20000][];
+            for (int r = 0; r < rows.length; r++) {
+                rows[r] = new int[random.nextInt(80)];
+                for (int i = 0; i < rows[r].length; i++) {
+                    rows[r][i] = random.nextInt(100) - 50;
+                }
+            }
+            int[][] parallel = new int[rows.length][];
+            int[][] common = new int[rows.length][];
+            for (int r = 0; r < rows.length; r++) {
+                parallel[r] = copyArray(rows[r]);
+                common[r] = copyArray(rows[r]);
+                Arrays.sort(rows[r]);
+            }
+            BatchShellSort.sortRows(parallel, 64, pool);
+            ShellSort.sortRows(common);
+            assert Arrays.deepEquals(parallel, rows) && Arrays.deepEquals(common, rows) : "Every row should be sorted on its own";
+            
+            for (int stride : new int[]{1, 4, 7, 16, 17, 64, 1000}) {
+                int[] flat = generateRandomArray(100003);
+                int[] expected = copyArray(flat);
+                for (int start = 0; start < expected.length; start += stride) {
+                    Arrays.sort(expected, start, Math.min(start + stride, expected.length));
+                }
+                int[] copy = copyArray(flat);
+                BatchShellSort.sortSegments(flat, stride, 64, pool);
+                ShellSort.sortSegments(copy, stride);
+                assert Arrays.equals(flat, expected) && Arrays.equals(copy, expected) : "Segments of " + stride + " should be sorted";
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("✓ Batch sort test passed");
+    }
+    
+    public static void testArgsort() {
+        System.out.println("Testing argsort...");
+        Random random = new Random(22);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        
+        try {
+            for (int size : new int[]{0, 1, 2, 1000, 70000}) {
+                int[] keys = new int[size];
+                for (int i = 0; i < size; i++) {
+                    // Narrow range so ties are common, plus the extremes
+                    keys[i] = random.nextInt(8) == 0 ? (random.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE) : random.nextInt(size / 4 + 1) - size / 8;
+                }
+                int[] original = copyArray(keys);
+                
+                assertArgsorted(keys, 0, size, ShellSort.argsort(keys));
+                assertArgsorted(keys, 0, size, ShellSort.parallelArgsort(keys));
+                
+                int[] parallel = new int[size];
+                ArgShellSort.argsort(keys, 0, size, parallel, GapSequence.CIURA, 1, pool);
+                assertArgsorted(keys, 0, size, parallel);
+                
+                int from = size / 3;
+                int to = size - size / 5;
+                assertArgsorted(keys, from, to, ShellSort.argsort(keys, from, to));
+                
+                int[] buffer = new int[size + 3];
+                Arrays.fill(buffer, -1);
+                ShellSort.argsort(keys, from, to, buffer);
+                assertArgsorted(keys, from, to, Arrays.copyOf(buffer, to - from));
+                assert buffer[to - from] == -1 : "argsort wrote past the requested length";
+                
+                ShellSort.parallelArgsort(keys, from, to, buffer);
+                assertArgsorted(keys, from, to, Arrays.copyOf(buffer, to - from));
+                
+                assert Arrays.equals(keys, original) : "argsort must not move the keys";
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("✓ Argsort test passed");
+    }
+    
+    private static void assertArgsorted(int[] keys, int from, int to, int[] indices) {
+        assert indices.length == to - from : "argsort returned " + indices.length + " indices for " + (to - from) + " keys";
+        boolean[] seen = new boolean[keys.length];
+        for (int i = 0; i < indices.length; i++) {
+            int index = indices[i];
+            assert index >= from && index < to && !seen[index] : "argsort did not return a permutation of the range";
+            seen[index] = true;
+            if (i > 0) {
+                int previous = indices[i - 1];
+                assert keys[previous] < keys[index] || keys[previous] == keys[index] && previous < index : "argsort order broken at " + i;
+            }
+        }
+    }
+    
+    public static void testKeyValueSort() {
+        System.out.println("Testing key/value sort...");
+        Random random = new Random(23);
+        
+        for (GapSequence sequence : GapSequence.builtIn()) {
+            for (int size : new int[]{0, 1, 2, 1000, 20000}) {
+                int[] keys = new int[size];
+                for (int i = 0; i < size; i++) {
+                    keys[i] = random.nextInt(8) == 0 ? Integer.MIN_VALUE : random.nextInt(size / 2 + 1) - size / 4;
+                }
+                int[] expected = copyArray(keys);
+                Arrays.sort(expected);
+                
+                // Payloads derived from the original key and position, so every pair can be checked
+                int[] intKeys = copyArray(keys);
+                int[] ints = new int[size];
+                long[] longs = new long[size];
+                Object[] objects = new Object[size];
+                for (int i = 0; i < size; i++) {
+                    ints[i] = keys[i] ^ i;
+                    longs[i] = (long) keys[i] << 20 | i;
+                    objects[i] = longs[i];
+                }
+                int[] longKeys = copyArray(keys);
+                int[] objectKeys = copyArray(keys);
+                
+                ShellSort.sortByKey(intKeys, ints, sequence);
+                ShellSort.sortByKey(longKeys, longs, sequence);
+                ShellSort.sortByKey(objectKeys, objects, sequence);
+                
+                assert Arrays.equals(intKeys, expected) : sequence.name() + " key/int sort failed for size " + size;
+                assert Arrays.equals(longKeys, expected) : sequence.name() + " key/long sort failed for size " + size;
+                assert Arrays.equals(objectKeys, expected) : sequence.name() + " key/Object sort failed for size " + size;
+                
+                boolean[] seenInt = new boolean[size];
+                boolean[] seenLong = new boolean[size];
+                for (int i = 0; i < size; i++) {
+                    int intIndex = ints[i] ^ intKeys[i];
+                    assert intIndex >= 0 && intIndex < size && keys[intIndex] == intKeys[i] && !seenInt[intIndex] : "int payload separated from its key";
+                    seenInt[intIndex] = true;
+                    int longIndex = (int) (longs[i] & 0xFFFFF);
+                    assert longs[i] >> 20 == longKeys[i] && !seenLong[longIndex] : "long payload separated from its key";
+                    seenLong[longIndex] = true;
+                    assert (Long) objects[i] >> 20 == objectKeys[i] : "Object payload separated from its key";
+                }
+            }
+        }
+        
+        int[] keys = {9, 5, 7, 3, 1, 8};
+        long[] values = {90, 50, 70, 30, 10, 80};
+        ShellSort.sortByKey(keys, values, 1, 5, GapSequence.CIURA);
+        assert Arrays.equals(keys, new int[]{9, 1, 3, 5, 7, 8}) : "Key range sort touched elements outside the range";
+        assert Arrays.equals(values, new long[]{90, 10, 30, 50, 70, 80}) : "Payload range sort did not follow the keys";
+        
+        int[] tiedKeys = {4, 4, 4, 4, 1, 4};
+        int[] signedValues = {3, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 7, 0};
+        ShellSort.sortByKey(tiedKeys, signedValues, GapSequence.CIURA);
+        assert Arrays.equals(tiedKeys, new int[]{1, 4, 4, 4, 4, 4}) : "Tied keys sorted wrongly";
+        assert Arrays.equals(signedValues, new int[]{7, Integer.MIN_VALUE, -1, 0, 3, Integer.MAX_VALUE}) : "Equal keys should order their int payloads by signed value";
+        System.out.println("✓ Key/value sort test passed");
+    }
+    
+    public static void testStableSort() {
+        System.out.println("Testing stable sort...");
+        Random random = new Random(24);
+        
+        for (GapSequence sequence : GapSequence.builtIn()) {
+            for (int size : new int[]{0, 1, 2, 1000, 20000}) {
+                int[] keys = new int[size];
+                for (int i = 0; i < size; i++) {
+                    keys[i] = random.nextInt(8) == 0 ? Integer.MIN_VALUE : random.nextInt(size / 8 + 1);
+                }
+                
+                // Arrays.sort on objects is stable, so it gives the expected order
+                Integer[] order = new Integer[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, Comparator.comparingInt(i -> keys[i]));
+                int[] expectedKeys = new int[size];
+                int[] expectedPositions = new int[size];
+                for (int i = 0; i < size; i++) {
+                    expectedKeys[i] = keys[order[i]];
+                    expectedPositions[i] = order[i];
+                }
+                
+                int[] intKeys = copyArray(keys);
+                int[] ints = new int[size];
+                int[] longKeys = copyArray(keys);
+                long[] longs = new long[size];
+                int[] objectKeys = copyArray(keys);
+                Object[] objects = new Object[size];
+                int[][] rows = new int[size][];
+                for (int i = 0; i < size; i++) {
+                    ints[i] = i;
+                    longs[i] = i;
+                    objects[i] = i;
+                    rows[i] = new int[]{keys[i], i};
+                }
+                
+                ShellSort.stableSortByKey(intKeys, ints, sequence);
+                ShellSort.stableSortByKey(longKeys, longs, sequence);
+                ShellSort.stableSortByKey(objectKeys, objects, sequence);
+                ShellSort.stableSortByIntKey(rows, row -> row[0], sequence);
+                
+                assert Arrays.equals(intKeys, expectedKeys) && Arrays.equals(longKeys, expectedKeys) && Arrays.equals(objectKeys, expectedKeys) : sequence.name() + " stable sort keys wrong for size " + size;
+                for (int i = 0; i < size; i++) {
+                    assert ints[i] == expectedPositions[i] : sequence.name() + " stable int payload out of order at " + i;
+                    assert longs[i] == expectedPositions[i] : sequence.name() + " stable long payload out of order at " + i;
+                    assert (Integer) objects[i] == expectedPositions[i] : sequence.name() + " stable Object payload out of order at " + i;
+                    assert rows[i][1] == expectedPositions[i] : sequence.name() + " stable key-extracted sort out of order at " + i;
+                }
+            }
+        }
+        
+        String[] words = {"pear", "fig", "kiwi", "plum", "apple", "date", "lime"};
+        ShellSort.stableSortByIntKey(words, 1, 6, String::length);
+        assert Arrays.equals(words, new String[]{"pear", "fig", "kiwi", "plum", "date", "apple", "lime"}) : "Stable range sort failed: " + Arrays.toString(words);
+        
+        int[] keys = {3, 1, 3, 1, 2};
+        long[] values = {0, 1, 2, 3, 4};
+        ShellSort.stableSortByKey(keys, values, 1, 5, GapSequence.CIURA);
+        assert Arrays.equals(keys, new int[]{3, 1, 1, 2, 3}) && Arrays.equals(values, new long[]{0, 1, 3, 4, 2}) : "Stable key range sort failed";
+        System.out.println("✓ Stable sort test passed");
+    }
+    
+    public static void testVectorSort() {
+        System.out.println("Testing vector sort (" + (ShellSort.isVectorized() ? "Vector API" : "scalar fallback") + ")...");
+        Random random = new Random(18);
+        
+        for (GapSequence sequence : GapSequence.builtIn()) {
+            for (int size : new int[]{0, 1, 7, 8, 15, 16, 17, 100, 1000, 4099, 100000}) {
+                int[] array = new int[size];
+                for (int i = 0; i < size; i++) {
+                    array[i] = size % 2 == 0 ? random.nextInt() : random.nextInt(20) - 10;
+                }
+                int[] copy = copyArray(array);
+                int[] expected = copyArray(array);
+                Arrays.sort(expected);
+                
+                ShellSort.vectorSort(array, sequence);
+                assert Arrays.equals(array, expected) : sequence.name() + " vector sort failed for size " + size;
+                
+                if (size > 5) {
+                    int[] rangeExpected = copyArray(copy);
+                    Arrays.sort(rangeExpected, 3, size - 2);
+                    ShellSort.vectorSort(copy, 3, size - 2, sequence);
+                    assert Arrays.equals(copy, rangeExpected) : sequence.name() + " vector range sort failed for size " + size;
+                }
+            }
+        }
+        System.out.println("✓ Vector sort test passed");
+    }
+    
+    public static void testObjectSorting() {
+        System.out.println("Testing object sorting...");
+        Random random = new Random(5);
+        
+        for (int size : new int[]{0, 1, 2, 50, 2000}) {
+            Integer[] boxed = new Integer[size];
+            String[] words = new String[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = random.nextInt(1000) - 500;
+                words[i] = Integer.toString(random.nextInt(100000));
+            }
+            Integer[] byKey = boxed.clone();
+            List<String> list = new ArrayList<>(Arrays.asList(words));
+            Integer[] expectedBoxed = boxed.clone();
+            String[] expectedWords = words.clone();
+            Arrays.sort(expectedBoxed);
+            Arrays.sort(expectedWords, Comparator.comparing(String::length).thenComparing(Comparator.naturalOrder()));
+            
+            ShellSort.sort(boxed, Comparator.naturalOrder());
+            ShellSort.sortByIntKey(byKey, Integer::intValue);
+            ShellSort.sort(list, Comparator.comparing(String::length).thenComparing(Comparator.naturalOrder()));
+            
+            assert Arrays.equals(boxed, expectedBoxed) : "Comparator sort should match Arrays.sort";
+            assert Arrays.equals(byKey, expectedBoxed) : "Key sort should match Arrays.sort";
+            assert list.equals(Arrays.asList(expectedWords)) : "List sort should match Arrays.sort";
+        }
+        System.out.println("✓ Object sorting test passed");
+    }
+    
+    public static void testHybridSort() {
+        System.out.println("Testing hybrid sort...");
+        HybridSort small = new HybridSort(4, GapSequence.KNUTH);
+        HybridSort calibrated = HybridSort.calibrate(1);
+        assert calibrated.cutoff() >= 8 : "Calibration should pick one of the candidate cutoffs";
+        
+        for (int size : new int[]{0, 1, 2, 5, 100, 10000, 200000}) {
+            int[][] inputs = {generateRandomArray(size), generateSortedArray(size),
+                              generateReverseSortedArray(size), generateNearlySortedArray(size), new int[size]};
+            for (int[] array : inputs) {
+                int[] copy1 = copyArray(array);
+                int[] copy2 = copyArray(array);
+                int[] copy3 = copyArray(array);
+                int[] copy4 = copyArray(array);
+                
+                small.sort(copy1);
+                calibrated.sort(copy2);
+                ShellSort.hybridSort(copy3);
+                Arrays.sort(copy4);
+                
+                assert Arrays.equals(copy1, copy4) : "Hybrid sort with a tiny cutoff failed for size " + size;
+                assert Arrays.equals(copy2, copy4) : calibrated + " failed for size " + size;
+                assert Arrays.equals(copy3, copy4) : "Default hybrid sort failed for size " + size;
+            }
+        }
+        
+        // Organ-pipe input defeats a plain median-of-three pivot; large ranges use the ninther
+        int[] organPipe = new int[100000];
+        for (int i = 0; i < organPipe.length; i++) {
+            organPipe[i] = Math.min(i, organPipe.length - i);
+        }
+        int[] expected = copyArray(organPipe);
+        Arrays.sort(expected);
+        small.sort(organPipe);
+        assert Arrays.equals(organPipe, expected) : "Hybrid sort should survive adversarial input";
+        System.out.println("✓ Hybrid sort test passed (" + calibrated + ")");
+    }
+    
+    public static void testGapTuner() {
+        System.out.println("Testing gap tuner...");
+        int[] data = generateRandomArray(5000);
+        GapTuner tuner = new GapTuner(data, 300, 4, 25);
+        assert Math.abs(tuner.fitness(tuner.baseline()) - 1.0) < 1e-9 : "Ciura's sequence should score exactly 1 against itself";
+        
+        GapTuner.Score best = tuner.search(6, 3, ForkJoinPool.commonPool());
+        int[] gaps = best.sequence.toArray();
+        assert gaps[0] == 1 : "Tuned table should start with 1";
+        assert gaps[gaps.length - 1] > Integer.MAX_VALUE / 3 : "Tuned table should cover every array length";
+        
+        for (int size : new int[]{0, 1, 300, 10000}) {
+            int[] array = generateRandomArray(size);
+            int[] expected = copyArray(array);
+            Arrays.sort(expected);
+            ShellSort.sort(array, best.sequence);
+            assert Arrays.equals(array, expected) : best.sequence + " failed for size " + size;
+        }
+        
+        try {
+            Path file = Files.createTempFile("gaps", ".properties");
+            try {
+                best.sequence.write(file);
+                GapSequence read = GapSequence.read(file);
+                assert read.name().equals(best.sequence.name()) : "Gap table name lost: " + read.name();
+                assert Arrays.equals(read.toArray(), gaps) : "Gap table changed on the way through the file";
+            } finally {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            throw new AssertionError("Gap table file round trip failed", e);
+        }
+        
+        if (System.getProperty(GapSequence.TUNED_PROPERTY) == null) {
+            assert GapSequence.tuned() == GapSequence.CIURA : "Without a gap table file the tuned sequence is Ciura's";
+            assert GapSequence.byName("tuned") == GapSequence.CIURA : "byName should resolve the tuned sequence";
+        }
+        int[] array = generateRandomArray(2000);
+        int[] expected = copyArray(array);
+        Arrays.sort(expected);
+        ShellSort.sortTuned(array);
+        assert Arrays.equals(array, expected) : "sortTuned failed";
+        System.out.println("✓ Gap tuner test passed (" + best.sequence.name() + ")");
+    }
+    
+    public static void testMetricsSink() {
+        System.out.println("Testing metrics sink...");
+        MetricsSink sink = new MetricsSink();
+        long expectedComparisons = 0;
+        long expectedSwaps = 0;
+        int expectedElements = 0;
+        
+        for (int size : new int[]{0, 1, 10, 100, 1000}) {
+            int[] array = generateRandomArray(size);
+            int[] copy1 = copyArray(array);
+            int[] copy2 = copyArray(array);
+            
+            ShellSort.PerformanceResult result = ShellSort.shellSortKnuthWithMetrics(copy1);
+            ShellSort.shellSortKnuthWithMetrics(copy2, sink);
+            
+            assert Arrays.equals(copy1, copy2) : "Sink variant should sort like the result variant";
+            expectedComparisons += result.comparisons;
+            expectedSwaps += result.swaps;
+            expectedElements += size;
+        }
+        
+        assert sink.sorts() == 5 && sink.elements() == expectedElements : "Sink should count every sort";
+        assert sink.comparisons() == expectedComparisons : "Sink should accumulate comparisons";
+        assert sink.swaps() == expectedSwaps : "Sink should accumulate swaps";
+        
+        MetricsSink other = new MetricsSink();
+        ShellSort.sortWithMetrics(new double[]{3, -0.0, Double.NaN, 1}, GapSequence.CIURA, other);
+        sink.add(other);
+        assert sink.sorts() == 6 && sink.elements() == expectedElements + 4 : "Sinks should combine";
+        
+        sink.reset();
+        assert sink.sorts() == 0 && sink.comparisons() == 0 && sink.averageExecutionTime() == 0 : "Reset should clear the sink";
+        System.out.println("✓ Metrics sink test passed");
+    }
+    
     public static void propertyBasedTest() {
         System.out.println("Running property-based tests...");
         Random random = new Random();
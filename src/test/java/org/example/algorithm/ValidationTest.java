@@ -1,5 +1,16 @@
 package org.example.algorithm;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Random;
 
@@ -12,6 +23,7 @@ public class ValidationTest {
         boundaryTesting();
         stressTesting();
         consistencyTesting();
+        primitiveTypeTesting();
         
         System.out.println("\nValidation testing completed!");
     }
@@ -37,6 +49,8 @@ public class ValidationTest {
         testMaximumSize();
         testPowerOfTwoSizes();
         testPrimeSizes();
+        testRangeSorting();
+        testRangeBounds();
         
         System.out.println("✓ All boundary tests passed");
     }
@@ -62,6 +76,17 @@ public class ValidationTest {
         System.out.println("✓ All consistency tests passed");
     }
     
+    public static void primitiveTypeTesting() {
+        System.out.println("Primitive type testing...");
+        
+        testLongArrays();
+        testFloatingPointOrdering();
+        testSmallIntegralTypes();
+        testBufferSorting();
+        
+        System.out.println("✓ All primitive type tests passed");
+    }
+    
     private static void testEmptyArray() {
         int[] empty = {};
         int[] copy = copyArray(empty);
@@ -151,6 +176,78 @@ public class ValidationTest {
         }
     }
     
+    private static void testRangeSorting() {
+        Random random = new Random(21);
+        for (int trial = 0; trial < 50; trial++) {
+            int[] array = generateRandomArray(random.nextInt(300) + 1);
+            int from = random.nextInt(array.length);
+            int to = from + random.nextInt(array.length - from + 1);
+            int[] expected = copyArray(array);
+            Arrays.sort(expected, from, to);
+            
+            int[][] copies = new int[7][];
+            for (int i = 0; i < copies.length; i++) {
+                copies[i] = copyArray(array);
+            }
+            ShellSort.shellSortOriginal(copies[0], from, to);
+            ShellSort.shellSortKnuth(copies[1], from, to);
+            ShellSort.shellSortSedgewick(copies[2], from, to);
+            ShellSort.sort(copies[3], from, to, GapSequence.CIURA);
+            ShellSort.shellSortKnuthWithMetrics(copies[4], from, to);
+            ShellSort.sortWithMetrics(copies[5], from, to, GapSequence.PRATT);
+            ShellSort.parallelSort(copies[6], from, to, GapSequence.TOKUDA);
+            for (int[] copy : copies) {
+                assert Arrays.equals(copy, expected) : "Range [" + from + ", " + to + ") should be sorted in place";
+            }
+            
+            long[] longs = new long[array.length];
+            Integer[] boxed = new Integer[array.length];
+            for (int i = 0; i < array.length; i++) {
+                longs[i] = array[i];
+                boxed[i] = array[i];
+            }
+            long[] expectedLongs = longs.clone();
+            Integer[] expectedBoxed = boxed.clone();
+            Arrays.sort(expectedLongs, from, to);
+            Arrays.sort(expectedBoxed, from, to);
+            Integer[] byKey = boxed.clone();
+            
+            ShellSort.sort(longs, from, to, GapSequence.SEDGEWICK);
+            ShellSort.sort(boxed, from, to, Integer::compare);
+            ShellSort.sortByIntKey(byKey, from, to, Integer::intValue);
+            assert Arrays.equals(longs, expectedLongs) : "Long range should be sorted in place";
+            assert Arrays.equals(boxed, expectedBoxed) : "Object range should be sorted in place";
+            assert Arrays.equals(byKey, expectedBoxed) : "Key range should be sorted in place";
+        }
+    }
+    
+    private static void testRangeBounds() {
+        int[] array = {3, 2, 1};
+        assert throwsException(() -> ShellSort.shellSortKnuth(array, 2, 1), IllegalArgumentException.class) : "fromIndex > toIndex should be rejected";
+        assert throwsException(() -> ShellSort.sort(array, -1, 2, GapSequence.KNUTH), ArrayIndexOutOfBoundsException.class) : "Negative fromIndex should be rejected";
+        assert throwsException(() -> ShellSort.sortWithMetrics(new double[3], 0, 4, GapSequence.KNUTH), ArrayIndexOutOfBoundsException.class) : "toIndex past the end should be rejected";
+        assert throwsException(() -> ShellSort.sortSegments(array, 0), IllegalArgumentException.class) : "A zero stride should be rejected";
+        assert throwsException(() -> ShellSort.cacheBlockedSort(array, GapSequence.KNUTH, 0), IllegalArgumentException.class) : "A zero tile should be rejected";
+        assert throwsException(() -> ShellSort.argsort(array, 0, 3, new int[2]), IllegalArgumentException.class) : "A short index buffer should be rejected";
+        assert throwsException(() -> ShellSort.shellSortBlockParallel(array, 0, 3, GapSequence.KNUTH, new int[2]), IllegalArgumentException.class) : "A short scratch buffer should be rejected";
+        assert throwsException(() -> ShellSort.sortByKey(array, new long[2], GapSequence.CIURA), IllegalArgumentException.class) : "A payload of another length should be rejected";
+        assert throwsException(() -> ShellSort.stableSortByKey(array, new Object[4], GapSequence.CIURA), IllegalArgumentException.class) : "A stable payload of another length should be rejected";
+        assert throwsException(() -> new GapTuner(array, 4, 1, 0), IllegalArgumentException.class) : "A tuning window longer than the sample should be rejected";
+        assert throwsException(() -> GapSequence.byName("p"), IllegalArgumentException.class) : "A prefix of two sequence names should be rejected";
+        assert throwsException(() -> GapSequence.byName("shell"), IllegalArgumentException.class) : "An unknown sequence name should be rejected";
+        assert GapSequence.byName("Pratt's") == GapSequence.PRATT && GapSequence.byName("powers") == GapSequence.POWERS_OF_TWO : "Full names and unique prefixes should resolve";
+        assert Arrays.equals(array, new int[]{3, 2, 1}) : "Rejected calls should not touch the array";
+    }
+    
+    private static boolean throwsException(Runnable task, Class<? extends RuntimeException> type) {
+        try {
+            task.run();
+            return false;
+        } catch (RuntimeException e) {
+            return type.isInstance(e);
+        }
+    }
+    
     private static void testManyDuplicates() {
         int[] manyDups = new int[1000];
         Random random = new Random();
@@ -227,6 +324,183 @@ public class ValidationTest {
         assert Arrays.equals(copy1, copy2) : "Algorithm should be deterministic";
     }
     
+    private static void testLongArrays() {
+        Random random = new Random(11);
+        for (GapSequence sequence : GapSequence.builtIn()) {
+            long[] array = new long[1000];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = random.nextLong();
+            }
+            array[0] = Long.MIN_VALUE;
+            array[1] = Long.MAX_VALUE;
+            long[] expected = array.clone();
+            long[] withMetrics = array.clone();
+            Arrays.sort(expected);
+            
+            ShellSort.sort(array, sequence);
+            ShellSort.PerformanceResult result = ShellSort.sortWithMetrics(withMetrics, sequence);
+            assert Arrays.equals(array, expected) : sequence.name() + " should sort long values";
+            assert Arrays.equals(withMetrics, expected) : sequence.name() + " with metrics should sort long values";
+            assert result.comparisons > 0 : "Metrics should count long comparisons";
+        }
+    }
+    
+    private static void testFloatingPointOrdering() {
+        double[] specials = {Double.NaN, -0.0d, 0.0d, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                             Double.MIN_VALUE, -Double.MAX_VALUE, 1.5d};
+        Random random = new Random(12);
+        
+        for (int size : new int[]{0, 1, 2, 9, 100, 1000}) {
+            double[] doubles = new double[size];
+            float[] floats = new float[size];
+            for (int i = 0; i < size; i++) {
+                doubles[i] = random.nextInt(4) == 0 ? specials[random.nextInt(specials.length)] : random.nextGaussian();
+                floats[i] = (float) doubles[i];
+            }
+            double[] expectedDoubles = doubles.clone();
+            float[] expectedFloats = floats.clone();
+            double[] doublesWithMetrics = doubles.clone();
+            float[] floatsWithMetrics = floats.clone();
+            double[] doublesUnguarded = doubles.clone();
+            float[] floatsUnguarded = floats.clone();
+            Arrays.sort(expectedDoubles);
+            Arrays.sort(expectedFloats);
+            
+            ShellSort.sort(doubles, GapSequence.CIURA);
+            ShellSort.sort(floats, GapSequence.SEDGEWICK);
+            ShellSort.sortWithMetrics(doublesWithMetrics, GapSequence.KNUTH);
+            ShellSort.sortWithMetrics(floatsWithMetrics, GapSequence.PRATT);
+            ShellSort.sortUnguarded(doublesUnguarded, GapSequence.TOKUDA);
+            ShellSort.sortUnguarded(floatsUnguarded, GapSequence.POWERS_OF_TWO);
+            
+            assert Arrays.equals(doubles, expectedDoubles) : "Doubles should order -0.0 before 0.0 and NaN last";
+            assert Arrays.equals(floats, expectedFloats) : "Floats should order -0.0 before 0.0 and NaN last";
+            assert Arrays.equals(doublesWithMetrics, expectedDoubles) : "Double metrics variant should match";
+            assert Arrays.equals(floatsWithMetrics, expectedFloats) : "Float metrics variant should match";
+            assert Arrays.equals(doublesUnguarded, expectedDoubles) : "Double unguarded variant should match";
+            assert Arrays.equals(floatsUnguarded, expectedFloats) : "Float unguarded variant should match";
+        }
+    }
+    
+    private static void testSmallIntegralTypes() {
+        Random random = new Random(13);
+        short[] shorts = new short[500];
+        char[] chars = new char[500];
+        byte[] bytes = new byte[500];
+        for (int i = 0; i < 500; i++) {
+            shorts[i] = (short) random.nextInt();
+            chars[i] = (char) random.nextInt();
+            bytes[i] = (byte) random.nextInt();
+        }
+        short[] expectedShorts = shorts.clone();
+        char[] expectedChars = chars.clone();
+        byte[] expectedBytes = bytes.clone();
+        Arrays.sort(expectedShorts);
+        Arrays.sort(expectedChars);
+        Arrays.sort(expectedBytes);
+        
+        ShellSort.sort(shorts, GapSequence.TOKUDA);
+        ShellSort.sortWithMetrics(chars, GapSequence.HIBBARD);
+        ShellSort.sort(bytes, GapSequence.POWERS_OF_TWO);
+        
+        assert Arrays.equals(shorts, expectedShorts) : "Shorts should be sorted";
+        assert Arrays.equals(chars, expectedChars) : "Chars should be sorted as unsigned";
+        assert Arrays.equals(bytes, expectedBytes) : "Bytes should be sorted";
+        
+        shorts = expectedShorts.clone();
+        chars = expectedChars.clone();
+        bytes = expectedBytes.clone();
+        reverse(shorts, chars, bytes);
+        ShellSort.sortUnguarded(shorts, GapSequence.KNUTH);
+        ShellSort.sortUnguarded(chars, GapSequence.CIURA);
+        ShellSort.sortUnguarded(bytes, 100, 400, GapSequence.SEDGEWICK);
+        assert Arrays.equals(shorts, expectedShorts) && Arrays.equals(chars, expectedChars) : "Unguarded variants should match";
+        for (int i = 101; i < 400; i++) {
+            assert bytes[i - 1] <= bytes[i] : "Unguarded byte range should be sorted";
+        }
+    }
+    
+    private static void reverse(short[] shorts, char[] chars, byte[] bytes) {
+        for (int i = 0, j = shorts.length - 1; i < j; i++, j--) {
+            short s = shorts[i];
+            shorts[i] = shorts[j];
+            shorts[j] = s;
+            char c = chars[i];
+            chars[i] = chars[j];
+            chars[j] = c;
+            byte b = bytes[i];
+            bytes[i] = bytes[j];
+            bytes[j] = b;
+        }
+    }
+    
+    private static void testBufferSorting() {
+        Random random = new Random(14);
+        int[] values = new int[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+        }
+        
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            IntBuffer direct = ByteBuffer.allocateDirect(values.length * Integer.BYTES).order(order).asIntBuffer();
+            direct.put(values);
+            direct.position(100).limit(4000);
+            ShellSort.sort(direct, GapSequence.CIURA);
+            
+            int[] expected = values.clone();
+            Arrays.sort(expected, 100, 4000);
+            int[] actual = new int[values.length];
+            direct.clear().get(actual);
+            assert Arrays.equals(actual, expected) : "Direct buffer should be sorted between position and limit";
+        }
+        
+        IntBuffer heap = IntBuffer.wrap(values.clone(), 10, 3000).slice();
+        ShellSort.shellSortSedgewick(heap);
+        int[] expectedSlice = Arrays.copyOfRange(values, 10, 3010);
+        Arrays.sort(expectedSlice);
+        for (int i = 0; i < expectedSlice.length; i++) {
+            assert heap.get(i) == expectedSlice[i] : "Heap buffer slice should be sorted";
+        }
+        
+        LongBuffer longs = ByteBuffer.allocateDirect(values.length * Long.BYTES).asLongBuffer();
+        long[] expectedLongs = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            expectedLongs[i] = (long) values[i] * values[i] - values[i];
+            longs.put(i, expectedLongs[i]);
+        }
+        ShellSort.sort(longs, GapSequence.TOKUDA);
+        Arrays.sort(expectedLongs);
+        for (int i = 0; i < expectedLongs.length; i++) {
+            assert longs.get(i) == expectedLongs[i] : "Direct long buffer should be sorted";
+        }
+        
+        assert throwsException(() -> ShellSort.sort(IntBuffer.allocate(4).asReadOnlyBuffer(), GapSequence.KNUTH),
+                               ReadOnlyBufferException.class) : "Read-only buffers should be rejected";
+        testMappedFile(values);
+    }
+    
+    private static void testMappedFile(int[] values) {
+        try {
+            Path file = Files.createTempFile("shellsort", ".bin");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) values.length * Integer.BYTES);
+                mapped.asIntBuffer().put(values);
+                ShellSort.sort(mapped.asIntBuffer(), GapSequence.CIURA);
+                mapped.force();
+                
+                int[] expected = values.clone();
+                Arrays.sort(expected);
+                int[] actual = new int[values.length];
+                mapped.asIntBuffer().get(actual);
+                assert Arrays.equals(actual, expected) : "Memory-mapped file should be sorted in place";
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
     private static boolean isSorted(int[] arr) {
         for (int i = 1; i < arr.length; i++) {
             if (arr[i] < arr[i-1]) {
@@ -0,0 +1,106 @@
+package org.example.cli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class JmhResultsTest {
+    
+    private static final String RESULTS = "[\n"
+        + "  {\"benchmark\": \"org.example.benchmarks.GapSequenceBenchmark.sort\", \"mode\": \"avgt\",\n"
+        + "   \"params\": {\"size\": \"1000\", \"sequence\": \"Ciura\", \"shape\": \"a,b\"},\n"
+        + "   \"primaryMetric\": {\"score\": 1.5, \"scoreUnit\": \"us/op\"}},\n"
+        + "  {\"benchmark\": \"org.example.benchmarks.HybridBenchmark.sort\",\n"
+        + "   \"primaryMetric\": {\"score\": \"NaN\", \"scoreUnit\": \"ns/op\"}}\n"
+        + "]\n";
+    
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== JMH RESULTS TESTS ===");
+        
+        Path directory = Files.createTempDirectory("jmh-results-test");
+        try {
+            testParser();
+            testMalformedJson();
+            testConversion(directory);
+            testRejectedResults(directory);
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+        
+        System.out.println("\nJMH results testing completed!");
+    }
+    
+    public static void testParser() {
+        System.out.println("Testing JSON parser...");
+        Object value = new JmhResults.JsonParser(" {\"a\": [1, -2.5e3, true, false, null], \"b\": \"x\\\"\\u0041\\n\", \"c\": {}} ").parse();
+        
+        Map<?, ?> object = (Map<?, ?>) value;
+        assert object.get("a").equals(Arrays.asList(1.0, -2500.0, true, false, null)) : "Array values parsed wrongly: " + object.get("a");
+        assert object.get("b").equals("x\"A\n") : "Escapes parsed wrongly: " + object.get("b");
+        assert ((Map<?, ?>) object.get("c")).isEmpty() : "Empty object parsed wrongly";
+        assert ((List<?>) new JmhResults.JsonParser("[]").parse()).isEmpty() : "Empty array parsed wrongly";
+        System.out.println("✓ JSON parser test passed");
+    }
+    
+    public static void testMalformedJson() {
+        System.out.println("Testing malformed JSON...");
+        String[] inputs = {"", "[", "[1,", "{\"a\" 1}", "{\"a\": 1", "\"unterminated", "\"bad escape \\u00", "[1] 2", "[@]", "{1: 2}"};
+        for (String input : inputs) {
+            boolean rejected = false;
+            try {
+                new JmhResults.JsonParser(input).parse();
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            assert rejected : "Malformed JSON should be rejected: " + input;
+        }
+        System.out.println("✓ Malformed JSON test passed");
+    }
+    
+    public static void testConversion(Path directory) throws IOException {
+        System.out.println("Testing conversion to CSV...");
+        Path json = Files.writeString(directory.resolve("results.json"), RESULTS);
+        Path csv = directory.resolve("results.csv");
+        
+        int rows = JmhResults.convertToCsv(json, csv.toString());
+        String actual = new String(Files.readAllBytes(csv), StandardCharsets.UTF_8);
+        String expected = "ArraySize,Algorithm,ExecutionTime(ns),Comparisons,Swaps\n"
+            + "1000,\"GapSequenceBenchmark.sort sequence=Ciura shape=a,b\",1500,0,0\n"
+            + "0,HybridBenchmark.sort,0,0,0\n";
+        assert rows == 2 : "Every result should become a row, got " + rows;
+        assert actual.equals(expected) : "CSV output differs:\n" + actual;
+        System.out.println("✓ Conversion test passed");
+    }
+    
+    public static void testRejectedResults(Path directory) throws IOException {
+        System.out.println("Testing rejected result files...");
+        String[] contents = {
+            "[{\"benchmark\": \"a.B.c\", \"primaryMetric\": {\"score\": 1",
+            "{\"benchmark\": \"a.B.c\"}",
+            "[{\"benchmark\": \"a.B.c\"}]",
+            "[{\"benchmark\": \"a.B.c\", \"primaryMetric\": {\"score\": 3, \"scoreUnit\": \"ops/s\"}}]",
+            "[{\"benchmark\": 7, \"primaryMetric\": {\"score\": 3, \"scoreUnit\": \"ns/op\"}}]"
+        };
+        for (int i = 0; i < contents.length; i++) {
+            Path json = Files.writeString(directory.resolve("bad-" + i + ".json"), contents[i]);
+            boolean rejected = false;
+            try {
+                JmhResults.convertToCsv(json, directory.resolve("bad-" + i + ".csv").toString());
+            } catch (IOException e) {
+                rejected = e.getMessage().contains(json.toString());
+            }
+            assert rejected : "Bad result file should be reported with its name: " + contents[i];
+        }
+        System.out.println("✓ Rejected results test passed");
+    }
+}
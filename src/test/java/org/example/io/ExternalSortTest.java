@@ -0,0 +1,128 @@
+package org.example.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ExternalSortTest {
+    
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== EXTERNAL SORT TESTS ===");
+        
+        Path directory = Files.createTempDirectory("external-sort-test");
+        try {
+            testIntFile(directory);
+            testLongFile(directory);
+            testMultiPassMerge(directory);
+            testEmptyFile(directory);
+            testPartialValue(directory);
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+        
+        System.out.println("\nExternal sort testing completed!");
+    }
+    
+    public static void testIntFile(Path directory) throws IOException {
+        System.out.println("Testing int32 file...");
+        int[] values = randomInts(200000, 1);
+        Path input = writeInts(directory.resolve("ints.bin"), values);
+        Path output = directory.resolve("ints.sorted");
+        
+        ExternalSort.Result result = new ExternalSort(ElementType.INT32, 256 << 10, directory, 4).sort(input, output);
+        Arrays.sort(values);
+        assert Arrays.equals(readInts(output), values) : "Int file should be sorted";
+        assert result.elements == values.length && result.runs == 13 : "Chunks should follow the memory budget";
+        assert Files.exists(input) : "Input should be left in place";
+        System.out.println("✓ Int32 file test passed");
+    }
+    
+    public static void testLongFile(Path directory) throws IOException {
+        System.out.println("Testing int64 file...");
+        Random random = new Random(2);
+        long[] values = new long[100000];
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+            bytes.putLong(values[i]);
+        }
+        Path input = Files.write(directory.resolve("longs.bin"), bytes.array());
+        Path output = directory.resolve("longs.sorted");
+        
+        new ExternalSort(ElementType.INT64, 100 << 10, directory, 3).sort(input, output);
+        Arrays.sort(values);
+        ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(output)).order(ByteOrder.LITTLE_ENDIAN);
+        long[] actual = new long[sorted.remaining() / Long.BYTES];
+        sorted.asLongBuffer().get(actual);
+        assert Arrays.equals(actual, values) : "Long file should be sorted";
+        System.out.println("✓ Int64 file test passed");
+    }
+    
+    public static void testMultiPassMerge(Path directory) throws IOException {
+        System.out.println("Testing multi-pass merge...");
+        int[] values = randomInts(300000, 3);
+        Path input = writeInts(directory.resolve("many-runs.bin"), values);
+        Path output = directory.resolve("many-runs.sorted");
+        
+        ExternalSort.Result result = new ExternalSort(ElementType.INT32, 8 << 10, directory, 2).sort(input, output);
+        Arrays.sort(values);
+        assert result.runs > ExternalSort.MAX_FAN_IN : "Test should need more than one merge pass";
+        assert Arrays.equals(readInts(output), values) : "Multi-pass merge should produce sorted output";
+        System.out.println("✓ Multi-pass merge test passed (" + result.runs + " runs)");
+    }
+    
+    public static void testEmptyFile(Path directory) throws IOException {
+        System.out.println("Testing empty file...");
+        Path input = Files.write(directory.resolve("empty.bin"), new byte[0]);
+        Path output = directory.resolve("empty.sorted");
+        
+        ExternalSort.Result result = new ExternalSort(ElementType.INT32, 1 << 20, directory, 2).sort(input, output);
+        assert result.runs == 0 && Files.size(output) == 0 : "Empty input should give an empty output";
+        System.out.println("✓ Empty file test passed");
+    }
+    
+    public static void testPartialValue(Path directory) throws IOException {
+        System.out.println("Testing truncated file...");
+        Path input = Files.write(directory.resolve("truncated.bin"), new byte[10]);
+        boolean rejected = false;
+        try {
+            new ExternalSort(ElementType.INT64, 1 << 20, directory, 1).sort(input, directory.resolve("truncated.sorted"));
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        assert rejected : "A file that is not a whole number of values should be rejected";
+        System.out.println("✓ Truncated file test passed");
+    }
+    
+    private static int[] randomInts(int size, long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+        return values;
+    }
+    
+    private static Path writeInts(Path file, int[] values) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asIntBuffer().put(values);
+        return Files.write(file, bytes.array());
+    }
+    
+    private static int[] readInts(Path file) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        int[] values = new int[bytes.remaining() / Integer.BYTES];
+        bytes.asIntBuffer().get(values);
+        return values;
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.io;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+public class FileFormatsTest {
+    
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== FILE FORMAT TESTS ===");
+        
+        Path directory = Files.createTempDirectory("file-formats-test");
+        try {
+            testAsciiFormatting();
+            testBinaryRoundTrip(directory);
+            testTextRoundTrip(directory);
+            testLenientText(directory);
+            testMalformedText(directory);
+            testResultWriter(directory);
+        } finally {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+        
+        System.out.println("\nFile format testing completed!");
+    }
+    
+    public static void testAsciiFormatting() {
+        System.out.println("Testing ASCII formatting...");
+        long[] values = {0, 7, -7, 10, 99, 100, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                         999999999999999999L, 1000000000000000000L, Long.MAX_VALUE, Long.MIN_VALUE};
+        byte[] buffer = new byte[Ascii.MAX_LONG_LENGTH + 4];
+        
+        for (long value : values) {
+            int end = Ascii.putLong(buffer, 2, value);
+            String formatted = new String(buffer, 2, end - 2, StandardCharsets.US_ASCII);
+            assert formatted.equals(Long.toString(value)) : "Expected " + value + " but got " + formatted;
+        }
+        System.out.println("✓ ASCII formatting test passed");
+    }
+    
+    public static void testBinaryRoundTrip(Path directory) throws IOException {
+        System.out.println("Testing binary round trip...");
+        Random random = new Random(5);
+        int[] ints = new int[700000];
+        long[] longs = new long[300000];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = random.nextInt();
+        }
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = random.nextLong();
+        }
+        
+        Path intFile = directory.resolve("ints.bin");
+        Path longFile = directory.resolve("longs.bin");
+        BinaryFiles.writeInts(intFile, ints);
+        BinaryFiles.writeLongs(longFile, longs);
+        
+        assert Files.size(intFile) == ints.length * 4L : "int32 files should hold four bytes per value";
+        assert Arrays.equals(BinaryFiles.readInts(intFile), ints) : "int32 round trip failed";
+        assert Arrays.equals(BinaryFiles.readLongs(longFile), longs) : "int64 round trip failed";
+        System.out.println("✓ Binary round trip test passed");
+    }
+    
+    public static void testTextRoundTrip(Path directory) throws IOException {
+        System.out.println("Testing text round trip...");
+        Random random = new Random(6);
+        int[] ints = new int[200000];
+        long[] longs = new long[200000];
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = random.nextInt();
+            longs[i] = random.nextLong();
+        }
+        ints[0] = Integer.MIN_VALUE;
+        ints[1] = Integer.MAX_VALUE;
+        longs[0] = Long.MIN_VALUE;
+        longs[1] = Long.MAX_VALUE;
+        
+        Path intFile = directory.resolve("ints.txt");
+        Path longFile = directory.resolve("longs.txt");
+        TextFiles.writeInts(intFile, ints);
+        TextFiles.writeLongs(longFile, longs);
+        
+        assert Arrays.equals(TextFiles.readInts(intFile), ints) : "Text int round trip failed";
+        assert Arrays.equals(TextFiles.readLongs(longFile), longs) : "Text long round trip failed";
+        String firstLine = Files.readAllLines(intFile).get(0);
+        assert firstLine.equals("-2147483648") : "Text output should be one decimal per line";
+        System.out.println("✓ Text round trip test passed");
+    }
+    
+    public static void testLenientText(Path directory) throws IOException {
+        System.out.println("Testing text separators...");
+        Path file = directory.resolve("lenient.txt");
+        Files.write(file, "3\r\n\n+4\n  -5\t6\n\n-0\n42".getBytes(StandardCharsets.US_ASCII));
+        
+        assert Arrays.equals(TextFiles.readInts(file), new int[]{3, 4, -5, 6, 0, 42}) : "Separators and signs should be accepted";
+        Files.write(file, new byte[0]);
+        assert TextFiles.readLongs(file).length == 0 : "An empty file holds no values";
+        System.out.println("✓ Text separator test passed");
+    }
+    
+    public static void testMalformedText(Path directory) throws IOException {
+        System.out.println("Testing malformed text...");
+        String[] inputs = {"1\n2x\n", "1\n-\n", "--1\n", "1-2\n", "2147483648\n", "9223372036854775808\n"};
+        boolean[] longsOnly = {false, false, false, false, true, false};
+        Path file = directory.resolve("bad.txt");
+        
+        for (int i = 0; i < inputs.length; i++) {
+            Files.write(file, inputs[i].getBytes(StandardCharsets.US_ASCII));
+            assert rejects(file, true) : "Should reject as int: " + inputs[i].trim();
+            assert rejects(file, false) != longsOnly[i] : "Long parsing of " + inputs[i].trim();
+        }
+        System.out.println("✓ Malformed text test passed");
+    }
+    
+    public static void testResultWriter(Path directory) throws IOException {
+        System.out.println("Testing result writer...");
+        Path file = directory.resolve("results.csv");
+        StringBuilder expected = new StringBuilder("ArraySize,Algorithm,ExecutionTime(ns)\n");
+        
+        // Tiny buffers force many hand-offs to the writer thread
+        try (ResultWriter writer = new ResultWriter(file, 32, 2)) {
+            writer.line("ArraySize,Algorithm,ExecutionTime(ns)");
+            for (int i = 0; i < 5000; i++) {
+                String name = i % 3 == 0 ? "Shell's Original" : "Ciura \u2192 \uD83D\uDE80";
+                long time = (long) i * i * 1_000_003L - 17;
+                writer.field(i).field(name).field(time).endRow();
+                expected.append(i).append(',').append(name).append(',').append(time).append('\n');
+            }
+        }
+        
+        String actual = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assert actual.equals(expected.toString()) : "Result writer output should match String formatting";
+        
+        try (ResultWriter writer = new ResultWriter(file)) {
+            writer.field("a,b").field("say \"hi\"").field("two\nlines").field("plain").endRow();
+        }
+        String quoted = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assert quoted.equals("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",plain\n") : "Fields with separators should be quoted, got " + quoted;
+        System.out.println("✓ Result writer test passed");
+    }
+    
+    private static boolean rejects(Path file, boolean ints) throws IOException {
+        try {
+            if (ints) {
+                TextFiles.readInts(file);
+            } else {
+                TextFiles.readLongs(file);
+            }
+            return false;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package org.example.perfomancetracker;
+
+import org.example.algorithm.ShellSort;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.CountDownLatch;
+
+public class PerformanceTrackerTest {
+    
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== PERFORMANCE TRACKER TESTS ===");
+        
+        testSingleThread();
+        testConcurrentRecording();
+        testSnapshotsWhileRecording();
+        testClear();
+        testRetiredThreads();
+        testHistogramAccuracy();
+        testStreamingStatistics();
+        testStreamingConcurrent();
+        
+        System.out.println("\nPerformance tracker testing completed!");
+    }
+    
+    public static void testSingleThread() {
+        System.out.println("Testing single-threaded recording...");
+        PerformanceTracker tracker = new PerformanceTracker("Knuth's");
+        tracker.endTimer(10, 0, 0);
+        assert tracker.getMetrics().isEmpty() : "endTimer without startTimer should record nothing";
+        
+        tracker.startTimer();
+        tracker.endTimer(100, 5, 6);
+        tracker.recordMetrics(200, 1000, 7, 8);
+        
+        List<PerformanceTracker.PerformanceMetrics> metrics = tracker.getMetrics();
+        assert metrics.size() == 2 : "Two sorts should be recorded";
+        assert metrics.get(0).arraySize == 100 && metrics.get(0).executionTime >= 0 : "Timed sort should be first";
+        assert metrics.get(1).executionTime == 1000 && metrics.get(1).swaps == 8 : "Recorded sort should keep its values";
+        System.out.println("✓ Single-thread test passed");
+    }
+    
+    public static void testConcurrentRecording() throws InterruptedException {
+        System.out.println("Testing concurrent recording...");
+        PerformanceTracker tracker = new PerformanceTracker("Sedgewick's");
+        int threads = 8;
+        int sortsPerThread = 2000;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(id);
+                awaitQuietly(start);
+                for (int i = 0; i < sortsPerThread; i++) {
+                    int[] array = new int[16];
+                    for (int j = 0; j < array.length; j++) {
+                        array[j] = random.nextInt();
+                    }
+                    tracker.startTimer();
+                    ShellSort.shellSortSedgewick(array);
+                    // The size encodes the thread so the test can check pairing
+                    tracker.endTimer(id, i, 0);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        
+        List<PerformanceTracker.PerformanceMetrics> metrics = tracker.getMetrics();
+        assert metrics.size() == threads * sortsPerThread : "Every sort should be recorded exactly once, got " + metrics.size();
+        long[] nextSort = new long[threads];
+        for (PerformanceTracker.PerformanceMetrics metric : metrics) {
+            assert metric.comparisons == nextSort[metric.arraySize]++ : "Each thread's records should stay in order";
+            assert metric.endTime >= metric.startTime : "Start and end should come from the same thread";
+        }
+        System.out.println("✓ Concurrent recording test passed");
+    }
+    
+    public static void testSnapshotsWhileRecording() throws InterruptedException {
+        System.out.println("Testing snapshots during recording...");
+        PerformanceTracker tracker = new PerformanceTracker("Hybrid");
+        int recordsPerWriter = 100000;
+        Thread[] writers = new Thread[4];
+        
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < recordsPerWriter; i++) {
+                    tracker.recordMetrics(1, 1, 1, 1);
+                }
+            });
+            writers[t].start();
+        }
+        
+        int previous = 0;
+        int snapshots = 0;
+        while (previous < writers.length * recordsPerWriter) {
+            List<PerformanceTracker.PerformanceMetrics> snapshot = tracker.getMetrics();
+            for (PerformanceTracker.PerformanceMetrics metric : snapshot) {
+                assert metric != null && metric.swaps == 1 : "Snapshots should only contain complete records";
+            }
+            assert snapshot.size() >= previous : "Snapshots should never shrink without a clear";
+            previous = snapshot.size();
+            snapshots++;
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        System.out.println("✓ Snapshot test passed (" + snapshots + " snapshots)");
+    }
+    
+    public static void testClear() throws InterruptedException {
+        System.out.println("Testing clear...");
+        PerformanceTracker tracker = new PerformanceTracker("Ciura's");
+        Thread before = new Thread(() -> tracker.recordMetrics(1, 10, 0, 0));
+        before.start();
+        before.join();
+        tracker.recordMetrics(2, 20, 0, 0);
+        assert tracker.getMetrics().size() == 2 : "Both threads should be visible";
+        
+        tracker.clear();
+        assert tracker.getMetrics().isEmpty() && tracker.getAverageExecutionTime() == 0 : "Clear should drop all records";
+        tracker.recordMetrics(3, 30, 0, 0);
+        assert tracker.getMetrics().size() == 1 && tracker.getAverageExecutionTime() == 30 : "Recording should continue after clear";
+        
+        tracker.startTimer();
+        tracker.clear();
+        tracker.endTimer(4, 0, 0);
+        assert tracker.getMetrics().size() == 1 && tracker.getMetrics().get(0).arraySize == 4 : "A timer running across clear should still be recorded";
+        System.out.println("✓ Clear test passed");
+    }
+    
+    public static void testRetiredThreads() throws InterruptedException {
+        System.out.println("Testing stripes of finished threads...");
+        PerformanceTracker tracker = new PerformanceTracker("Knuth's");
+        PerformanceTracker streaming = PerformanceTracker.streaming("Knuth's");
+        int threads = 200;
+        
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                tracker.recordMetrics(10, 100, 1, 1);
+                streaming.recordMetrics(10, 100, 1, 1);
+            });
+            worker.start();
+            worker.join();
+        }
+        tracker.recordMetrics(10, 100, 1, 1);
+        streaming.recordMetrics(10, 100, 1, 1);
+        
+        assert tracker.stripeCount() <= 3 : "Dead threads should not keep stripes, got " + tracker.stripeCount();
+        assert streaming.stripeCount() <= 3 : "Dead threads should not keep stripes, got " + streaming.stripeCount();
+        assert tracker.getMetrics().size() == threads + 1 : "Records of dead threads should be kept";
+        assert streaming.getStatistics().get(8).count() == threads + 1 : "Statistics of dead threads should be kept";
+        
+        Thread worker = new Thread(() -> tracker.recordMetrics(10, 100, 1, 1));
+        worker.start();
+        worker.join();
+        WeakReference<Thread> finished = new WeakReference<>(worker);
+        worker = null;
+        for (int attempt = 0; attempt < 20 && finished.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assert finished.get() == null : "A stripe should not keep its finished thread reachable";
+        assert tracker.getMetrics().size() == threads + 2 : "Records of a collected thread should be kept";
+        System.out.println("✓ Retired thread test passed");
+    }
+    
+    public static void testHistogramAccuracy() {
+        System.out.println("Testing latency histogram accuracy...");
+        for (long value = 0; value < 1_000_000; value = value * 3 / 2 + 1) {
+            long reported = LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(value));
+            assert reported >= value && reported - value <= value / 32 : "Value " + value + " reported as " + reported;
+        }
+        assert LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(Long.MAX_VALUE)) == Long.MAX_VALUE : "The top bucket should reach Long.MAX_VALUE";
+        
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assert Math.abs(histogram.valueAtPercentile(50) - 5_000_000) <= 5_000_000 / 32 : "Median should be within a bucket";
+        assert Math.abs(histogram.valueAtPercentile(99) - 9_900_000) <= 9_900_000 / 32 : "p99 should be within a bucket";
+        assert histogram.valueAtPercentile(100) >= 10_000_000 : "p100 should cover the maximum";
+        System.out.println("✓ Histogram accuracy test passed");
+    }
+    
+    public static void testStreamingStatistics() {
+        System.out.println("Testing streaming statistics...");
+        PerformanceTracker streaming = PerformanceTracker.streaming("Knuth's");
+        PerformanceTracker recording = new PerformanceTracker("Knuth's");
+        Random random = new Random(16);
+        double sum = 0;
+        long[] times = new long[50000];
+        
+        for (int i = 0; i < times.length; i++) {
+            // Large offset so a naive sum-of-squares variance would lose precision
+            times[i] = 1_000_000_000L + random.nextInt(10000);
+            sum += times[i];
+            streaming.recordMetrics(1000 + i % 24, times[i], 3, 4);
+            recording.recordMetrics(1000 + i % 24, times[i], 3, 4);
+        }
+        double mean = sum / times.length;
+        double squares = 0;
+        for (long time : times) {
+            squares += (time - mean) * (time - mean);
+        }
+        double variance = squares / (times.length - 1);
+        
+        assert streaming.getMetrics().isEmpty() : "A streaming tracker should keep no records";
+        SortedMap<Integer, StreamingStats> statistics = streaming.getStatistics();
+        assert statistics.keySet().equals(Set.of(512)) : "Sizes 1000-1023 belong to the 512 bucket, got " + statistics.keySet();
+        StreamingStats stats = statistics.get(512);
+        assert stats.count() == times.length && stats.totalSwaps() == 4L * times.length : "Every sort should be counted";
+        assert Math.abs(stats.mean() - mean) < 1e-3 : "Streaming mean " + stats.mean() + " vs " + mean;
+        assert Math.abs(stats.variance() - variance) / variance < 1e-9 : "Streaming variance " + stats.variance() + " vs " + variance;
+        assert Math.abs(streaming.getAverageExecutionTime() - mean) < 1e-3 : "Average should come from the statistics";
+        
+        StreamingStats exact = recording.getStatistics().get(512);
+        assert exact.count() == stats.count() && exact.percentile(99) == stats.percentile(99) : "Both modes should agree";
+        assert stats.min() <= stats.percentile(50) && stats.percentile(99.9) <= stats.max() : "Percentiles should stay in range";
+        
+        streaming.clear();
+        assert streaming.getStatistics().isEmpty() : "Clear should drop the statistics";
+        System.out.println("✓ Streaming statistics test passed");
+    }
+    
+    public static void testStreamingConcurrent() throws InterruptedException {
+        System.out.println("Testing concurrent streaming...");
+        PerformanceTracker tracker = PerformanceTracker.streaming("Sedgewick's");
+        int recordsPerWriter = 200000;
+        Thread[] writers = new Thread[4];
+        
+        for (int t = 0; t < writers.length; t++) {
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < recordsPerWriter; i++) {
+                    tracker.recordMetrics(1, 100, 1, 1);
+                }
+            });
+            writers[t].start();
+        }
+        
+        long previous = 0;
+        while (previous < (long) writers.length * recordsPerWriter) {
+            StreamingStats stats = tracker.getStatistics().getOrDefault(1, new StreamingStats());
+            assert stats.count() >= previous : "Counts should never go backwards";
+            assert stats.count() == stats.totalSwaps() : "Statistics should be copied consistently";
+            assert stats.count() == 0 || stats.mean() == 100 : "Mean should not be torn";
+            previous = stats.count();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        System.out.println("✓ Concurrent streaming test passed");
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}